@@ -0,0 +1,233 @@
+package com.wiss.quizbackend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * In-Memory Cache vor dem AppUserRepository - nach Username und nach E-Mail.
+ * <p>
+ * Login und UserDetailsService fragen immer wieder dieselben User ab.
+ * Statt jedes Mal app_users zu lesen, halten wir die letzten User im Speicher.
+ * </p>
+ * <ul>
+ *     <li>Begrenzt: maximal quiz.user-cache.max-size Einträge pro Schlüsselart</li>
+ *     <li>TTL: Einträge verfallen nach quiz.user-cache.ttl</li>
+ *     <li>Invalidierung: AppUserCacheListener räumt bei jedem Speichern/Löschen auf</li>
+ * </ul>
+ * <p>
+ * Index ID → (Username, E-Mail): Wer umbenannt wird, ist im Cache noch unter dem ALTEN
+ * Namen abgelegt, der neue Stand kennt diesen aber nicht mehr. Der Index merkt sich, unter
+ * welchen Schlüsseln ein User liegt - evict() entfernt genau diese, ohne den Cache zu durchsuchen.
+ * Verdrängt Caffeine einen Eintrag (Grösse/TTL), fällt auch der Index-Eintrag weg,
+ * sobald der User unter keinem Schlüssel mehr im Cache liegt.
+ * </p>
+ * <p>
+ * Gespeichert wird eine unveränderliche Kopie (CachedUser). Jeder Aufruf bekommt
+ * einen eigenen, nicht verwalteten AppUser - Änderungen daran landen nie im Cache.
+ * </p>
+ * Analogie: Die Kartei am Empfang - schneller als ins Archiv zu laufen,
+ * und wer umzieht, dessen Karte wird sofort herausgenommen.
+ * <p>
+ * Metriken: cache.gets/puts/evictions mit cache="users-by-username" bzw. "users-by-email".
+ * </p>
+ */
+@Component
+public class AppUserCache implements MeterBinder {
+
+    private final AppUserRepository appUserRepository;
+    private final Cache<String, CachedUser> byUsername;
+    private final Cache<String, CachedUser> byEmail;
+    private final ConcurrentMap<Long, CachedKeys> keysById = new ConcurrentHashMap<>();
+
+    public AppUserCache(AppUserRepository appUserRepository,
+                        @Value("${quiz.user-cache.ttl:5m}") Duration ttl,
+                        @Value("${quiz.user-cache.max-size:10000}") long maxSize) {
+        this.appUserRepository = appUserRepository;
+        this.byUsername = newCache(ttl, maxSize);
+        this.byEmail = newCache(ttl, maxSize);
+    }
+
+    /**
+     * Lädt einen User per Username - aus dem Cache oder der Datenbank.
+     *
+     * @param username Der Username
+     * @return Optional mit User (eigene Kopie) oder empty
+     */
+    public Optional<AppUser> findByUsername(String username) {
+        return find(byUsername, username, appUserRepository::findByUsername);
+    }
+
+    /**
+     * Lädt einen User per E-Mail - aus dem Cache oder der Datenbank.
+     *
+     * @param email Die E-Mail
+     * @return Optional mit User (eigene Kopie) oder empty
+     */
+    public Optional<AppUser> findByEmail(String email) {
+        return find(byEmail, email, appUserRepository::findByEmail);
+    }
+
+    /**
+     * Lädt einen User per Username oder E-Mail (Login-Feld) -
+     * aus dem Cache oder mit genau einer Datenbank-Abfrage.
+     *
+     * @param login Username oder E-Mail
+     * @return Optional mit User (eigene Kopie) oder empty
+     */
+    public Optional<AppUser> findByLogin(String login) {
+        if (login == null) {
+            return Optional.empty();
+        }
+        Cache<String, CachedUser> cache = AppUserRepository.isEmailLogin(login) ? byEmail : byUsername;
+        return find(cache, login, appUserRepository::findByLogin);
+    }
+
+    /**
+     * Entfernt alle Einträge eines Users - nur per Schlüssel, ohne den Cache zu durchsuchen.
+     * <p>
+     * Neben dem aktuellen Username und der aktuellen E-Mail auch die Schlüssel,
+     * unter denen der User laut Index abgelegt wurde (alter Username, alte E-Mail).
+     * </p>
+     *
+     * @param user Der gespeicherte oder gelöschte User
+     */
+    public void evict(AppUser user) {
+        if (user.getId() != null) {
+            CachedKeys previous = keysById.remove(user.getId());
+            if (previous != null) {
+                invalidate(previous.username(), previous.email());
+            }
+        }
+        invalidate(user.getUsername(), user.getEmail());
+    }
+
+    /**
+     * @return Statistik des Caches nach Username
+     */
+    public CacheStats usernameStats() {
+        return byUsername.stats();
+    }
+
+    /**
+     * @return Statistik des Caches nach E-Mail
+     */
+    public CacheStats emailStats() {
+        return byEmail.stats();
+    }
+
+    public long usernameSize() {
+        return byUsername.estimatedSize();
+    }
+
+    public long emailSize() {
+        return byEmail.estimatedSize();
+    }
+
+    /**
+     * @return Anzahl User im Index ID → Schlüssel
+     */
+    public int indexedUsers() {
+        return keysById.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byUsername, "users-by-username");
+        CaffeineCacheMetrics.monitor(registry, byEmail, "users-by-email");
+    }
+
+    private Optional<AppUser> find(Cache<String, CachedUser> cache, String key,
+                                   Function<String, Optional<AppUser>> loader) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        CachedUser cached = cache.getIfPresent(key);
+        if (cached == null) {
+            // Nicht gefundene User werden nicht gecacht (sonst würde eine
+            // Registrierung bis zum Ablauf der TTL "unsichtbar" bleiben)
+            Optional<AppUser> loaded = loader.apply(key);
+            loaded.ifPresent(user -> {
+                CachedUser copy = CachedUser.of(user);
+                cache.put(key, copy);
+                if (copy.id() != null) {
+                    keysById.put(copy.id(), new CachedKeys(copy.username(), copy.email()));
+                }
+            });
+            return loaded;
+        }
+        return Optional.of(cached.toAppUser());
+    }
+
+    private void invalidate(String username, String email) {
+        if (username != null) {
+            byUsername.invalidate(username);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    /**
+     * Caffeine hat einen Eintrag verdrängt (Grösse/TTL): Index-Eintrag entfernen,
+     * wenn der User auch unter dem anderen Schlüssel nicht mehr im Cache liegt.
+     */
+    private void onRemoval(CachedUser user, RemovalCause cause) {
+        if (user == null || user.id() == null || !cause.wasEvicted()) {
+            return;
+        }
+        keysById.computeIfPresent(user.id(), (id, keys) -> isCached(keys) ? keys : null);
+    }
+
+    private boolean isCached(CachedKeys keys) {
+        return (keys.username() != null && byUsername.asMap().containsKey(keys.username()))
+                || (keys.email() != null && byEmail.asMap().containsKey(keys.email()));
+    }
+
+    private Cache<String, CachedUser> newCache(Duration ttl, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .removalListener((String key, CachedUser user, RemovalCause cause) -> onRemoval(user, cause))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Schlüssel, unter denen ein User im Cache liegt.
+     */
+    private record CachedKeys(String username, String email) {
+    }
+
+    /**
+     * Unveränderliche Kopie der User-Daten.
+     */
+    private record CachedUser(Long id, String username, String email, String password, Role role) {
+
+        static CachedUser of(AppUser user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getEmail(),
+                    user.getPassword(), user.getRole());
+        }
+
+        AppUser toAppUser() {
+            AppUser user = new AppUser(username, email, password, role);
+            user.setId(id);
+            return user;
+        }
+    }
+}
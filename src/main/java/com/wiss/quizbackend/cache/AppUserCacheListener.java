@@ -0,0 +1,51 @@
+package com.wiss.quizbackend.cache;
+
+import com.wiss.quizbackend.entity.AppUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA Entity Listener: hält den AppUserCache aktuell.
+ * <p>
+ * Hibernate ruft diese Methoden nach jedem INSERT/UPDATE/DELETE auf app_users auf -
+ * egal ob über AppUserService, Repository oder sonstwo gespeichert wird.
+ * </p>
+ * <p>
+ * Zweimal räumen:
+ * 1. Sofort - damit dieselbe Transaktion nicht den alten Stand aus dem Cache liest
+ * 2. Nach dem Commit - falls ein paralleler Request in der Zwischenzeit
+ *    den alten Stand aus der Datenbank wieder in den Cache gelegt hat
+ * </p>
+ * Wird von Hibernate über Spring erzeugt (Constructor Injection funktioniert).
+ * ObjectProvider, weil es in Test-Slices (@DataJpaTest) keinen Cache geben muss.
+ */
+public class AppUserCacheListener {
+
+    private final ObjectProvider<AppUserCache> appUserCache;
+
+    public AppUserCacheListener(ObjectProvider<AppUserCache> appUserCache) {
+        this.appUserCache = appUserCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(AppUser user) {
+        appUserCache.ifAvailable(cache -> {
+            cache.evict(user);
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cache.evict(user);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.wiss.quizbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wiss.quizbackend.timing.RequestTimings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Binäre Antwortformate für Clients, die sie verlangen (Content Negotiation über den Accept-Header).
+ * <p>
+ * - application/cbor (CBOR, RFC 8949): kompakt, Bibliotheken für iOS/Android/JS vorhanden
+ * - application/x-jackson-smile (Smile): noch etwas kleiner, aber fast nur mit Jackson lesbar
+ * - alles andere (auch Accept: *&#47;*): weiterhin JSON - Browser und Frontend merken nichts
+ * </p>
+ * Feldnamen und Struktur sind identisch mit JSON, nur die Kodierung ist binär:
+ * Zahlen und Längen als Bytes statt Text, Feldnamen bei Smile nur einmal pro Antwort.
+ * Beide ObjectMapper kommen aus dem Jackson2ObjectMapperBuilder von Spring Boot
+ * (gleiche Module und Einstellungen wie für JSON, z.B. Datumsformat).
+ * <p>
+ * Die Converter ersetzen die Standard-Converter von Spring (gleicher Platz in der
+ * Liste, also nach JSON) und messen die Serialisierung wie der JSON-Converter (siehe TimingConfig).
+ * </p>
+ * Analogie: Dieselbe Bestellung - einmal ausgeschrieben, einmal in Kurzschrift.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new TimedCborConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new TimedSmileConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    static class TimedCborConverter extends MappingJackson2CborHttpMessageConverter {
+
+        TimedCborConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long start = RequestTimings.start();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTimings.record("serialization", start);
+            }
+        }
+    }
+
+    static class TimedSmileConverter extends MappingJackson2SmileHttpMessageConverter {
+
+        TimedSmileConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long start = RequestTimings.start();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTimings.record("serialization", start);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.wiss.quizbackend.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource mit Einlasskontrolle: höchstens so viele Connections gleichzeitig,
+ * wie der Pool hat - und höchstens {@code maxWaiting} Threads in der Warteschlange.
+ * <p>
+ * Mit virtuellen Threads gibt es keine 200er-Grenze von Tomcat mehr: jeder
+ * Request bekommt sofort einen Thread. Ohne Einlasskontrolle würden sich bei
+ * einer Lastspitze tausende Threads im Hikari-Pool (10 Connections) anstellen
+ * und erst nach dem Hikari-Timeout (30 s) scheitern.
+ * </p>
+ * - Freie Permits: sofort weiter zu Hikari
+ * - Alle belegt: fair (FIFO) warten, höchstens {@code acquireTimeout}
+ * - Warteschlange voll: sofort SQLTransientConnectionException → 503
+ * <p>
+ * Das Permit wird mit {@code Connection.close()} zurückgegeben (genau einmal).
+ * Metriken: quiz.db.permits.available, quiz.db.waiting, quiz.db.rejected (reason=queue-full|timeout)
+ * </p>
+ * Analogie: Der Türsteher vor einem Club mit 10 Plätzen. Drinnen wird nie
+ * gedrängelt, draussen steht eine Schlange mit fester Länge - wer danach
+ * kommt, wird gleich wieder heimgeschickt.
+ */
+class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * @param target Der eigentliche Pool (Hikari)
+     * @param maxConnections Gleichzeitige Connections (= Poolgrösse)
+     * @param maxWaiting Maximal wartende Threads, danach wird abgewiesen
+     * @param acquireTimeout Maximale Wartezeit auf ein Permit
+     */
+    ConcurrencyLimitedDataSource(DataSource target, int maxConnections, int maxWaiting, Duration acquireTimeout) {
+        super(target);
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections must be positive, got " + maxConnections);
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        // Schneller Weg ohne Warteschlange
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Database busy: " + maxWaiting + " threads already waiting for a connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new SQLTransientConnectionException(
+                        "Database busy: no connection within " + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Hüllt die Connection ein: close() gibt zusätzlich das Permit zurück.
+     * Alle anderen Aufrufe gehen unverändert an die echte Connection.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("quiz.db.permits.available", this, ConcurrencyLimitedDataSource::availablePermits)
+                .description("Freie DB-Permits (max = Poolgrösse)")
+                .register(registry);
+        Gauge.builder("quiz.db.waiting", this, ConcurrencyLimitedDataSource::waitingThreads)
+                .description("Threads, die auf ein DB-Permit warten")
+                .register(registry);
+        FunctionCounter.builder("quiz.db.rejected", this, ConcurrencyLimitedDataSource::rejectedCount)
+                .tag("reason", "queue-full")
+                .description("Abgewiesene DB-Zugriffe (503)")
+                .register(registry);
+        FunctionCounter.builder("quiz.db.rejected", this, ConcurrencyLimitedDataSource::timedOutCount)
+                .tag("reason", "timeout")
+                .description("Abgewiesene DB-Zugriffe (503)")
+                .register(registry);
+    }
+
+    int maxConnections() {
+        return maxConnections;
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    int waitingThreads() {
+        return waiting.get();
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+    long timedOutCount() {
+        return timedOut.sum();
+    }
+}
@@ -0,0 +1,64 @@
+package com.wiss.quizbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Verzögerte Initialisierung für Beans, die beim Start niemand braucht.
+ * <p>
+ * Mit spring.main.lazy-initialization=true würde ALLES verzögert - dann landen
+ * Fehler (z.B. eine falsche Konfiguration) erst beim ersten Request statt beim
+ * Start, und der erste Request zahlt die ganze Initialisierung. Hier werden nur
+ * Beans aus den Packages in quiz.startup.lazy-packages verzögert, z.B. springdoc:
+ * die OpenAPI-Beschreibung wird erst gebaut, wenn jemand /v3/api-docs aufruft.
+ * </p>
+ * Wird eine solche Bean von einer "normalen" Bean gebraucht, entsteht sie trotzdem
+ * beim Start - lazy heisst nur "nicht von sich aus".
+ * <p>
+ * Analogie: Der Konferenzraum wird erst geheizt, wenn jemand ihn bucht -
+ * nicht jeden Morgen auf Verdacht.
+ * </p>
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyInitializationConfig.class);
+
+    /**
+     * Markiert die Bean-Definitionen der konfigurierten Packages als lazy.
+     * static: BeanFactoryPostProcessors laufen, bevor irgendeine Bean erzeugt wird.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeansPostProcessor(Environment environment) {
+        return beanFactory -> {
+            List<String> packages = List.of(environment.getProperty(
+                    "quiz.startup.lazy-packages", String[].class, new String[0]));
+            if (packages.isEmpty()) {
+                return;
+            }
+
+            int lazyBeans = 0;
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                // @Bean-Methoden haben keine eigene Klasse → Klasse der Konfiguration nehmen
+                String className = definition.getBeanClassName();
+                if (className == null && definition.getFactoryBeanName() != null
+                        && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+                    className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+                }
+                if (className != null && packages.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                    lazyBeans++;
+                }
+            }
+            log.info("{} Beans aus {} werden erst bei Bedarf erzeugt", lazyBeans, packages);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.wiss.quizbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktiviert @Scheduled für Hintergrund-Jobs (z.B. GameSessionArchiveJob).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
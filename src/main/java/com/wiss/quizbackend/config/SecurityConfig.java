@@ -1,17 +1,26 @@
 package com.wiss.quizbackend.config;
 
+import com.wiss.quizbackend.security.BCryptCostCalibrator;
+import com.wiss.quizbackend.security.BoundedPasswordEncoder;
+import com.wiss.quizbackend.security.CostAwareBCryptPasswordEncoder;
 import com.wiss.quizbackend.security.JwtAuthenticationFilter;
+import com.wiss.quizbackend.security.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Security-Konfiguration für die Applikation.
  *
@@ -27,10 +36,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     // Constructor injection
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -39,16 +51,52 @@ public class SecurityConfig {
      *
      * @Bean: Spring erstellt EINE Instanz und verwendet sie überall
      *        (Singleton Pattern)
+     * <p>
+     * BCrypt läuft NICHT auf den Tomcat-Threads, sondern auf einem eigenen,
+     * begrenzten Pool (BoundedPasswordEncoder). Ein Login-Ansturm belegt so
+     * höchstens diese Threads - der Rest der App bleibt reaktionsfähig.
+     * </p>
+     * <p>
+     * Die BCrypt-Stärke wird beim Start auf die Ziel-Dauer kalibriert
+     * (oder fix per quiz.password-hashing.bcrypt.cost gesetzt - Pflicht bei mehreren
+     * Instanzen, deshalb in application-prod.properties fix).
+     * Neue Hashes tragen ein Präfix: "{bcrypt}$2a$11$..." - so weiss der
+     * DelegatingPasswordEncoder später, womit ein Hash erstellt wurde.
+     * Alte Hashes ohne Präfix werden weiterhin erkannt und beim nächsten
+     * Login neu gehasht (siehe AppUserService.authenticateUser).
+     * </p>
      *
-     * @return PasswordEncoder Interface (nicht BCryptPasswordEncoder!)
-     *         Warum? Flexibilität - könnte später zu Argon2 wechseln
+     * @param threads Hash-Threads, 0 = Anzahl CPU-Kerne
+     * @param queueCapacity Maximale Anzahl wartender Logins/Registrierungen
+     * @param retryAfterSeconds Retry-After bei Überlast (503)
+     * @param fixedCost Feste BCrypt-Stärke, 0 = kalibrieren
+     * @param targetMillis Ziel-Dauer pro Hash für die Kalibrierung
+     * @param minCost Untergrenze der Stärke
+     * @param maxCost Obergrenze der Stärke
+     * @return Ein PasswordEncoder (Interface), hier mit Zutrittskontrolle
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // BCrypt mit Stärke 12
-        // Stärke = 2^12 = 4096 Iterationen
-        // Höher = sicherer aber langsamer (10-12 ist Standard 2024)
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${quiz.password-hashing.threads:0}") int threads,
+            @Value("${quiz.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${quiz.password-hashing.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${quiz.password-hashing.bcrypt.cost:0}") int fixedCost,
+            @Value("${quiz.password-hashing.bcrypt.target-millis:100}") long targetMillis,
+            @Value("${quiz.password-hashing.bcrypt.min-cost:10}") int minCost,
+            @Value("${quiz.password-hashing.bcrypt.max-cost:14}") int maxCost) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        // Stärke = 2^cost Iterationen, jede Stufe verdoppelt die Rechenzeit
+        int cost = fixedCost > 0
+                ? fixedCost
+                : BCryptCostCalibrator.calibrate(Duration.ofMillis(targetMillis), minCost, maxCost);
+
+        DelegatingPasswordEncoder versioned = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new CostAwareBCryptPasswordEncoder(cost)));
+        // Bestehende Hashes ohne "{bcrypt}" Präfix (alle mit BCrypt erstellt)
+        versioned.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new BoundedPasswordEncoder(versioned, poolSize, queueCapacity, retryAfterSeconds);
     }
 
     /**
@@ -64,6 +112,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()  // Registration/Login öffentlich
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**").permitAll() // Swagger öffentlich
+                        // Actuator (Metriken, Health) - nur auf dem Management-Port 127.0.0.1:8081 erreichbar
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+                        // Health-Probes für den Load Balancer auf dem normalen Port (siehe WarmupRunner)
+                        .requestMatchers("/livez", "/readyz").permitAll()
                         // GEÄNDERT: Jetzt braucht jeder Request einen gültigen JWT Token!
                         // Vorher: permitAll() → Jeder durfte alles
                         // Jetzt: authenticated() → Nur eingeloggte User
@@ -77,7 +129,10 @@ public class SecurityConfig {
                 // NEU: JWT Filter HINZUFÜGEN
                 // der Filter wird VOR dem
                 // UsernamePasswordAuthenticationFilter ausgeführt
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rate Limiting NACH dem JWT Filter: der User ist dann bekannt
+                // (Limit pro User statt pro IP für /api/game/start)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,74 @@
+package com.wiss.quizbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtuelle Threads (Java 21) für Requests, @Async und @Scheduled.
+ * <p>
+ * Eingeschaltet wird der Modus mit spring.threads.virtual.enabled=true -
+ * Spring Boot stellt dann Tomcat, den applicationTaskExecutor und den
+ * Scheduler um. Diese Klasse ergänzt, was dafür nötig ist:
+ * </p>
+ * - Einlasskontrolle vor der Datenbank (ConcurrencyLimitedDataSource),
+ *   gleich gross wie der Hikari-Pool
+ * - Erkennung von "Pinning" (VirtualThreadPinningMonitor)
+ * <p>
+ * Warum die Einlasskontrolle? Ein blockierter JDBC-Aufruf kostet mit virtuellen
+ * Threads fast nichts mehr - aber der Pool hat weiterhin nur 10 Connections.
+ * Der Engpass wandert von Tomcat (200 Threads) zur Datenbank.
+ * </p>
+ * Das Passwort-Hashing bleibt bewusst auf eigenen Plattform-Threads
+ * (BoundedPasswordEncoder): BCrypt ist CPU-Arbeit, da helfen virtuelle Threads nicht.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Default von HikariConfig (maximumPoolSize), wenn nichts konfiguriert ist
+    static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Hüllt die DataSource in eine ConcurrencyLimitedDataSource.
+     * static: BeanPostProcessors werden vor allen anderen Beans erzeugt.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quiz.datasource.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                // 0 = Poolgrösse von Hikari übernehmen
+                int maxConnections = environment.getProperty(
+                        "quiz.datasource.concurrency-limit.max-connections", Integer.class, 0);
+                if (maxConnections <= 0) {
+                    // Vor dem ersten getConnection() liefert Hikari -1, wenn maximum-pool-size
+                    // nicht gesetzt ist - Hikari nimmt dann selbst seinen Default von 10
+                    int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+                    maxConnections = poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE;
+                }
+                int maxWaiting = environment.getProperty(
+                        "quiz.datasource.concurrency-limit.max-waiting", Integer.class, 1000);
+                Duration acquireTimeout = environment.getProperty(
+                        "quiz.datasource.concurrency-limit.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+
+                log.info("DataSource '{}': max {} Connections gleichzeitig, max {} wartende Threads, Timeout {}",
+                        beanName, maxConnections, maxWaiting, acquireTimeout);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConnections, maxWaiting, acquireTimeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.wiss.quizbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Meldet "Pinning" von virtuellen Threads - nur aktiv, wenn virtuelle Threads eingeschaltet sind.
+ * <p>
+ * Ein virtueller Thread gibt seinen Träger-Thread (Carrier) frei, sobald er
+ * blockiert. Ausnahme in Java 21: blockiert er INNERHALB von synchronized
+ * (oder in nativem Code), bleibt er am Carrier "festgepinnt". Davon gibt es nur
+ * so viele wie CPU-Kerne - ein paar gepinnte JDBC-Aufrufe legen die ganze App lahm.
+ * </p>
+ * Die JVM meldet jedes Pinning über {@code threshold} als JFR-Event
+ * "jdk.VirtualThreadPinned". Dieser Monitor liest die Events live mit (RecordingStream):
+ * - Zähler quiz.virtual-threads.pinned (Micrometer)
+ * - WARN im Log mit Stacktrace, einmal pro Code-Stelle (danach DEBUG)
+ * <p>
+ * Alternative beim Debuggen: -Djdk.tracePinnedThreads=short
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 16;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    // Code-Stellen, die schon mit Stacktrace geloggt wurden
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+    private volatile Counter pinnedCounter;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${quiz.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Pinning-Monitor aktiv (Schwelle {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinnedCounter = Counter.builder("quiz.virtual-threads.pinned")
+                .description("Virtuelle Threads, die länger als die Schwelle am Carrier hingen")
+                .register(registry);
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        Counter counter = pinnedCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+
+        List<String> frames = frames(event.getStackTrace());
+        // Oberste Frames sind JDK-intern (park, LockSupport) - die Stelle ist der erste "eigene" Frame
+        String location = frames.stream()
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+        if (reportedLocations.add(location)) {
+            log.warn("Virtueller Thread {} ms gepinnt in {}:\n    {}",
+                    event.getDuration().toMillis(), location, String.join("\n    ", frames));
+        } else {
+            log.debug("Virtueller Thread {} ms gepinnt in {}", event.getDuration().toMillis(), location);
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+package com.wiss.quizbackend.controller;
+
+import com.wiss.quizbackend.service.ProfilingService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Profiling für Admins: JFR-Aufzeichnung starten und als Datei herunterladen.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminProfilingController {
+
+    private final ProfilingService profilingService;
+
+    // Constructor Injection
+    public AdminProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    /**
+     * POST /api/admin/profiling/recording?seconds=30&settings=profile
+     * Zeichnet {@code seconds} Sekunden auf und schickt danach die .jfr-Datei zurück.
+     * Der Request bleibt so lange offen (Client-Timeout entsprechend setzen).
+     * <p>
+     * Beispiel: curl -X POST -H "Authorization: Bearer ..." -o quiz.jfr \
+     * "http://localhost:8080/api/admin/profiling/recording?seconds=60"
+     * </p>
+     */
+    @PostMapping("/recording")
+    public void record(@RequestParam(defaultValue = "30") int seconds,
+                       @RequestParam(defaultValue = "profile") String settings,
+                       HttpServletResponse response) throws IOException {
+        Path file = profilingService.record(Duration.ofSeconds(seconds), settings);
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + file.getFileName() + "\"");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.wiss.quizbackend.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wiss.quizbackend.cache.AppUserCache;
+import com.wiss.quizbackend.dto.CacheStatsDTO;
+import com.wiss.quizbackend.security.BoundedPasswordEncoder;
+import com.wiss.quizbackend.security.TokenRevocationList;
+import com.wiss.quizbackend.security.VerifiedTokenCache;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Betriebs-Statistiken für Admins (Caches, Auslastung).
+ */
+@RestController
+@RequestMapping("/api/admin/stats")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminStatsController {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AppUserCache appUserCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
+
+    // Constructor Injection
+    public AdminStatsController(VerifiedTokenCache verifiedTokenCache,
+                                AppUserCache appUserCache,
+                                BoundedPasswordEncoder passwordEncoder,
+                                TokenRevocationList tokenRevocationList) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.appUserCache = appUserCache;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    /**
+     * GET /api/admin/stats/token-cache
+     * Trefferquote und Speicherbelegung des Token-Caches
+     */
+    @GetMapping("/token-cache")
+    public CacheStatsDTO getTokenCacheStats() {
+        return toDTO("verified-tokens", verifiedTokenCache.stats(),
+                verifiedTokenCache.estimatedSize(),
+                verifiedTokenCache.weightedSize(),
+                verifiedTokenCache.maxBytes());
+    }
+
+    /**
+     * GET /api/admin/stats/user-cache
+     * Trefferquote des User-Caches (nach Username und nach E-Mail)
+     */
+    @GetMapping("/user-cache")
+    public List<CacheStatsDTO> getUserCacheStats() {
+        return List.of(
+                toDTO("users-by-username", appUserCache.usernameStats(), appUserCache.usernameSize(), 0, 0),
+                toDTO("users-by-email", appUserCache.emailStats(), appUserCache.emailSize(), 0, 0)
+        );
+    }
+
+    /**
+     * GET /api/admin/stats/password-hashing
+     * Auslastung des Passwort-Hash-Pools (Warteschlange, Dauer, Ablehnungen)
+     */
+    @GetMapping("/password-hashing")
+    public Map<String, Object> getPasswordHashingStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", passwordEncoder.getThreads());
+        stats.put("active", passwordEncoder.getActiveCount());
+        stats.put("queueDepth", passwordEncoder.getQueueDepth());
+        stats.put("queueCapacity", passwordEncoder.getQueueCapacity());
+        stats.put("completed", passwordEncoder.getCompletedCount());
+        stats.put("rejected", passwordEncoder.getRejectedCount());
+        stats.put("averageHashMillis", passwordEncoder.getAverageHashMillis());
+        stats.put("maxHashMillis", passwordEncoder.getMaxHashMillis());
+        stats.put("averageQueueWaitMillis", passwordEncoder.getAverageQueueWaitMillis());
+        return stats;
+    }
+
+    /**
+     * GET /api/admin/stats/token-revocations
+     * Grösse der Widerrufsliste und des Bloom-Filters
+     */
+    @GetMapping("/token-revocations")
+    public Map<String, Object> getTokenRevocationStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revokedTokens", tokenRevocationList.revokedTokenCount());
+        stats.put("revokedUsers", tokenRevocationList.revokedUserCount());
+        stats.put("bloomFilterBits", tokenRevocationList.bloomFilterBits());
+        stats.put("bloomFilterHashFunctions", tokenRevocationList.bloomFilterHashFunctions());
+        return stats;
+    }
+
+    private CacheStatsDTO toDTO(String name, CacheStats stats, long size,
+                                long weightedSize, long maxWeight) {
+        return new CacheStatsDTO(
+                name,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                size,
+                weightedSize,
+                maxWeight
+        );
+    }
+}
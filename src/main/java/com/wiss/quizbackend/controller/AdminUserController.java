@@ -0,0 +1,43 @@
+package com.wiss.quizbackend.controller;
+
+import com.wiss.quizbackend.service.TokenRevocationService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * User-Verwaltung für Admins.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    // Constructor Injection
+    public AdminUserController(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * POST /api/admin/users/{userId}/revoke-tokens
+     * Meldet einen User überall ab: alle bisherigen JWTs und Refresh Tokens
+     * sind sofort ungültig, der User muss sich neu einloggen.
+     */
+    @PostMapping("/{userId}/revoke-tokens")
+    public Map<String, Object> revokeTokens(@PathVariable Long userId) {
+        Instant revokedBefore = tokenRevocationService.revokeAllForUser(userId);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("userId", userId);
+        response.put("revokedBefore", revokedBefore);
+        return response;
+    }
+}
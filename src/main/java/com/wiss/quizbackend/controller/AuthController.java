@@ -2,13 +2,18 @@ package com.wiss.quizbackend.controller;
 
 import com.wiss.quizbackend.dto.LoginRequestDTO;
 import com.wiss.quizbackend.dto.LoginResponseDTO;
+import com.wiss.quizbackend.dto.RefreshRequestDTO;
 import com.wiss.quizbackend.dto.RegisterRequestDTO;
 import com.wiss.quizbackend.dto.RegisterResponseDTO;
 import com.wiss.quizbackend.entity.AppUser;
 import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.exception.PasswordHashingOverloadedException;
 import com.wiss.quizbackend.service.AppUserService;
 import com.wiss.quizbackend.service.JwtService;
+import com.wiss.quizbackend.service.RefreshTokenService;
+import com.wiss.quizbackend.service.TokenRevocationService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -38,10 +43,16 @@ public class AuthController {
 
     private final AppUserService appUserService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthController(AppUserService appUserService, JwtService jwtService) {
+    public AuthController(AppUserService appUserService, JwtService jwtService,
+                          RefreshTokenService refreshTokenService,
+                          TokenRevocationService tokenRevocationService) {
         this.appUserService = appUserService;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -78,6 +89,10 @@ public class AuthController {
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
 
+        } catch (PasswordHashingOverloadedException e) {
+            // HTTP 503 wenn zu viele Passwörter gleichzeitig gehasht werden
+            return serviceBusy(e);
+
         } catch (Exception e) {
             // HTTP 500 bei unerwarteten Fehlern
             Map<String, String> error = new HashMap<>();
@@ -105,7 +120,9 @@ public class AuthController {
      *   "username": "maxmuster",
      *   "email": "max@example.com",
      *   "role": "PLAYER",
-     *   "expiresIn": 86400000
+     *   "expiresIn": 900000,
+     *   "refreshToken": "q3Jx0v...",
+     *   "refreshExpiresIn": 2592000000
      * }
      *</p>
      * <p>
@@ -118,53 +135,30 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO requestDTO) {
         try {
-            // 1. User finden (Username oder Email)
-            Optional<AppUser> userOpt;
-
-            // Prüfen, ob E-Mail oder Username
-            if(requestDTO.getUsernameOrEmail().contains("@")) {
-                // Hat @ → ist eine E-Mail
-                userOpt = appUserService.findByEmail(requestDTO.getUsernameOrEmail());
-            } else {
-                // Hat KEIN @ → ist ein Username
-                userOpt = appUserService.findByUsername(requestDTO.getUsernameOrEmail());
-            }
-
-            // User existiert nicht
-            if(userOpt.isEmpty()) {
-                return ResponseEntity
-                        .status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Ungültige Anmeldedaten"));
-            }
-
-            AppUser user = userOpt.get();
-
-            // 2. Passwort prüfen mit authenticateUser
+            // 1. User finden (Username oder Email) und 2. Passwort prüfen
+            // Ein einziger Lookup - der geladene User geht direkt in den Passwort-Vergleich
             Optional<AppUser> authenticatedUser = appUserService
-                    .authenticateUser(user.getUsername(), requestDTO.getPassword());
+                    .authenticateLogin(requestDTO.getUsernameOrEmail(), requestDTO.getPassword());
 
             if(authenticatedUser.isEmpty()) {
-                // Passwort falsch
+                // User existiert nicht oder Passwort falsch
+                // (bewusst dieselbe Meldung - verrät nicht, ob der User existiert)
                 return ResponseEntity
                         .status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Ungültige Anmeldedaten"));
             }
 
-            // 3. JWT Token generieren
-            String token = jwtService.generateToken(user.getUsername(), user.getRole().name());
-
-            // 4. Response DTO erstellen
-            LoginResponseDTO responseDTO = new LoginResponseDTO(
-                    token,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getRole().name(),
-                    86400000L // 24 Stunden in ms
-            );
+            AppUser user = authenticatedUser.get();
+
+            // 3. Refresh Token ausstellen (neue Sitzung)
+            String refreshToken = refreshTokenService.issue(user);
 
-            // 5. Success Response
-            return ResponseEntity.ok(responseDTO);
+            // 4. JWT Token generieren + 5. Success Response
+            return ResponseEntity.ok(tokenResponse(user, refreshToken));
+
+        } catch (PasswordHashingOverloadedException e) {
+            // HTTP 503 wenn zu viele Logins gleichzeitig laufen
+            return serviceBusy(e);
 
         } catch (Exception e) {
             // Unerwarteter Fehler
@@ -174,6 +168,48 @@ public class AuthController {
         }
     }
 
+    /**
+     * POST /api/auth/refresh
+     * <p>
+     * Tauscht einen Refresh Token gegen einen neuen JWT + neuen Refresh Token.
+     * Kein Passwort, kein BCrypt - nur ein Lookup und eine HMAC-Signatur.
+     * Der alte Refresh Token ist danach ungültig (Rotation).
+     * Request Body: { "refreshToken": "q3Jx0v..." }
+     * </p>
+     * Success Response (200): wie bei /login
+     * Error Response (401): Token unbekannt, abgelaufen, bereits verwendet oder widerrufen
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequestDTO requestDTO) {
+        return refreshTokenService.rotate(requestDTO.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation ->
+                        ResponseEntity.ok(tokenResponse(rotation.user(), rotation.refreshToken())))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Ungültiger oder abgelaufener Refresh Token")));
+    }
+
+    /**
+     * POST /api/auth/logout
+     * <p>
+     * Widerruft den Refresh Token (und alle Vorgänger/Nachfolger derselben Sitzung).
+     * Wird der aktuelle JWT im Authorization Header mitgeschickt, ist er
+     * ab sofort ebenfalls ungültig (TokenRevocationList).
+     * Antwortet immer mit 204, auch bei unbekanntem Token.
+     * </p>
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @Valid @RequestBody RefreshRequestDTO requestDTO) {
+        refreshTokenService.revoke(requestDTO.getRefreshToken());
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwtService.verify(authHeader.substring(7)).ifPresent(tokenRevocationService::revokeToken);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * GET /api/auth/test
      * Simpler Test-Endpoint
@@ -182,4 +218,34 @@ public class AuthController {
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("Auth Controller funktioniert!");
     }
-}
\ No newline at end of file
+
+    /**
+     * Baut die Antwort für /login und /refresh: neuer JWT + Refresh Token.
+     */
+    private LoginResponseDTO tokenResponse(AppUser user, String refreshToken) {
+        String token = jwtService.generateToken(
+                user.getId(), user.getUsername(), user.getRole().name());
+
+        return new LoginResponseDTO(
+                token,
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole().name(),
+                jwtService.getExpirationTime(),
+                refreshToken,
+                refreshTokenService.getTtl().toMillis()
+        );
+    }
+
+    /**
+     * Antwort bei überlastetem Passwort-Hashing: 503 + Retry-After Header.
+     * Der Client (Frontend) kann nach der angegebenen Zeit erneut versuchen.
+     */
+    private ResponseEntity<Map<String, String>> serviceBusy(PasswordHashingOverloadedException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Zu viele Anmeldungen gleichzeitig, bitte später erneut versuchen"));
+    }
+}
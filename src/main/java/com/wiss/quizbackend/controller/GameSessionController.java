@@ -1,12 +1,16 @@
 package com.wiss.quizbackend.controller;
 
+import com.wiss.quizbackend.dto.GameHistoryPageDTO;
 import com.wiss.quizbackend.entity.AppUser;
 import com.wiss.quizbackend.entity.GameSession;
 import com.wiss.quizbackend.service.GameSessionService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/game")
 public class GameSessionController {
@@ -44,6 +48,37 @@ public class GameSessionController {
         return gameSessionService.finishGame(sessionId, correctAnswers);
     }
 
+    /**
+     * GET /api/game/history
+     * Lädt die Game-Historie des eingeloggten Users, neueste zuerst.
+     * <p>
+     * Beispiel: /api/game/history?category=sports&from=2025-01-01T00:00:00&size=20
+     * Nächste Seite: nextBeforePlayedAt + nextBeforeId aus der Antwort
+     * als beforePlayedAt + beforeId mitgeben.
+     * </p>
+     *
+     * @param user Der authentifizierte User (automatisch aus JWT Token)
+     * @param category Optional: nur diese Kategorie
+     * @param from Optional: ab Zeitpunkt (ISO, inklusiv)
+     * @param to Optional: bis Zeitpunkt (ISO, exklusiv)
+     * @param beforePlayedAt Optional: Cursor der vorherigen Seite
+     * @param beforeId Optional: Cursor der vorherigen Seite
+     * @param size Einträge pro Seite (default: 20, max: 100)
+     * @return Eine Seite der Historie
+     */
+    @GetMapping("/history")
+    public GameHistoryPageDTO getHistory(
+            @AuthenticationPrincipal AppUser user,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforePlayedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return gameSessionService.getHistory(user.getId(), category, from, to,
+                beforePlayedAt, beforeId, size);
+    }
+
     /**
      * GET /api/game/{sessionId}
      * Lädt eine bestimmte GameSession
@@ -0,0 +1,64 @@
+package com.wiss.quizbackend.dto;
+
+/**
+ * Statistik eines In-Memory Caches für das Admin-Dashboard.
+ * <p>
+ * hitRate = Anteil der Anfragen, die ohne Neuberechnung
+ * (Token-Prüfung, Datenbank) beantwortet wurden.
+ * </p>
+ */
+public class CacheStatsDTO {
+
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long evictionCount;
+    private final long size;
+    private final long weightedSize;  // geschätzte Bytes, 0 wenn nicht gewichtet
+    private final long maxWeight;     // Obergrenze, 0 wenn nicht gewichtet
+
+    public CacheStatsDTO(String name, long hitCount, long missCount, double hitRate,
+                         long evictionCount, long size, long weightedSize, long maxWeight) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weightedSize = weightedSize;
+        this.maxWeight = maxWeight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+}
@@ -0,0 +1,56 @@
+package com.wiss.quizbackend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object für einen Eintrag in der Game-Historie.
+ * <p>
+ * Schlanke Projektion statt der ganzen GameSession-Entity:
+ * JPA füllt das DTO direkt per "SELECT new ..." (siehe GameSessionRepository),
+ * es werden also keine Entities geladen oder im Persistence Context verwaltet.
+ * </p>
+ * Immutable - nur Getter.
+ */
+public class GameHistoryDTO {
+
+    private final Long id;
+    private final String category;
+    private final Integer correctAnswers;
+    private final Integer totalQuestions;
+    private final Integer totalScore;
+    private final LocalDateTime playedAt;
+
+    public GameHistoryDTO(Long id, String category, Integer correctAnswers,
+                          Integer totalQuestions, Integer totalScore, LocalDateTime playedAt) {
+        this.id = id;
+        this.category = category;
+        this.correctAnswers = correctAnswers;
+        this.totalQuestions = totalQuestions;
+        this.totalScore = totalScore;
+        this.playedAt = playedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public Integer getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public Integer getTotalScore() {
+        return totalScore;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+}
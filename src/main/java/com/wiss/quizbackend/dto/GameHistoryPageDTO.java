@@ -0,0 +1,46 @@
+package com.wiss.quizbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Eine Seite der Game-Historie (Keyset-Pagination).
+ * <p>
+ * Statt "Seite 57" (OFFSET) gibt der Client den letzten gesehenen Eintrag
+ * als Cursor mit: nextBeforePlayedAt + nextBeforeId.
+ * Die Datenbank springt dann per Index direkt an diese Stelle -
+ * egal wie viele Games der User schon gespielt hat.
+ * </p>
+ * Analogie: Lesezeichen im Buch statt "Seite zählen ab Anfang".
+ */
+public class GameHistoryPageDTO {
+
+    private final List<GameHistoryDTO> items;
+    private final boolean hasMore;
+    private final LocalDateTime nextBeforePlayedAt;  // null wenn keine weitere Seite
+    private final Long nextBeforeId;                 // null wenn keine weitere Seite
+
+    public GameHistoryPageDTO(List<GameHistoryDTO> items, boolean hasMore,
+                              LocalDateTime nextBeforePlayedAt, Long nextBeforeId) {
+        this.items = items;
+        this.hasMore = hasMore;
+        this.nextBeforePlayedAt = nextBeforePlayedAt;
+        this.nextBeforeId = nextBeforeId;
+    }
+
+    public List<GameHistoryDTO> getItems() {
+        return items;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public LocalDateTime getNextBeforePlayedAt() {
+        return nextBeforePlayedAt;
+    }
+
+    public Long getNextBeforeId() {
+        return nextBeforeId;
+    }
+}
@@ -4,7 +4,8 @@ package com.wiss.quizbackend.dto;
  * DTO für Login Response.
  * <p>
  * Enthält:
- * - JWT Token für Authentication
+ * - JWT Token für Authentication (kurzlebig)
+ * - Refresh Token, um ohne Passwort einen neuen JWT zu bekommen
  * - User Informationen (ohne Passwort!)
  * - Token Type (Bearer)
  * - Expiration Time
@@ -24,14 +25,19 @@ public class LoginResponseDTO {
     private final String email;
     private final String role;
     private final long expiresIn;  // in Millisekunden
+    private final String refreshToken;
+    private final long refreshExpiresIn;  // in Millisekunden
 
-    public LoginResponseDTO(String token, Long userId, String username, String email, String role, long expiresIn) {
+    public LoginResponseDTO(String token, Long userId, String username, String email, String role, long expiresIn,
+                            String refreshToken, long refreshExpiresIn) {
         this.token = token;
         this.userId = userId;
         this.username = username;
         this.email = email;
         this.role = role;
         this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+        this.refreshExpiresIn = refreshExpiresIn;
     }
 
     // Nur Getters (Immutable!)
@@ -63,6 +69,14 @@ public class LoginResponseDTO {
         return expiresIn;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+
     /**
      * toString mit HIDDEN Token (Security!)
      * Token sollte nicht geloggt werden - könnte gestohlen werden!
@@ -77,6 +91,8 @@ public class LoginResponseDTO {
                 ", email='" + email + '\'' +
                 ", role='" + role + '\'' +
                 ", expiresIn=" + expiresIn +
+                ", refreshToken='[HIDDEN]'" +
+                ", refreshExpiresIn=" + refreshExpiresIn +
                 '}';
     }
 }
@@ -0,0 +1,41 @@
+package com.wiss.quizbackend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO für Refresh- und Logout-Requests.
+ * <p>
+ * Enthält nur den Refresh Token aus der Login-Antwort.
+ * Der abgelaufene JWT wird NICHT gebraucht - der Refresh Token allein
+ * identifiziert die Sitzung.
+ * </p>
+ */
+public class RefreshRequestDTO {
+
+    @NotBlank(message = "Refresh Token ist erforderlich")
+    private String refreshToken;
+
+    // Default Constructor für JSON Deserialization
+    public RefreshRequestDTO() {}
+
+    // Constructor mit allen Feldern (für Tests)
+    public RefreshRequestDTO(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * toString ohne Token (Security!)
+     */
+    @Override
+    public String toString() {
+        return "RefreshRequestDTO{refreshToken='[HIDDEN]'}";
+    }
+}
@@ -1,5 +1,6 @@
 package com.wiss.quizbackend.entity;
 
+import com.wiss.quizbackend.cache.AppUserCacheListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -9,14 +10,22 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "app_users")
+@Table(name = "app_users", uniqueConstraints = {
+        // Benannte Constraints: AppUserService erkennt am Namen, was doppelt war
+        // Jeder Unique-Constraint bringt einen Index mit → findByEmail ohne Table Scan
+        @UniqueConstraint(name = "uk_app_users_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_app_users_email", columnNames = "email")
+})
+@EntityListeners(AppUserCacheListener.class)  // Cache-Invalidierung bei jeder Änderung
 public class AppUser implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "app_users_seq")
+    @SequenceGenerator(name = "app_users_seq", sequenceName = "app_users_seq",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
 
     @Column(nullable = false, length = 100)
@@ -43,6 +52,29 @@ public class AppUser implements UserDetails {
         this.role = role;
     }
 
+    /**
+     * Erstellt einen AppUser direkt aus den Claims eines gültigen JWT Tokens.
+     * <p>
+     * Kein Datenbankzugriff: id, username und role stehen bereits im Token.
+     * email und password bleiben leer - dieser User ist nur ein "Besucherausweis"
+     * für den aktuellen Request und darf NIE gespeichert werden
+     * (ein save() würde email und password überschreiben).
+     * Als Referenz (z.B. Question.createdBy) ist er ok, dafür braucht Hibernate nur die id.
+     * </p>
+     *
+     * @param id User ID aus dem "uid" Claim
+     * @param username Username aus dem "sub" Claim
+     * @param role Rolle aus dem "role" Claim
+     * @return Ein nicht verwalteter AppUser
+     */
+    public static AppUser fromTokenClaims(Long id, String username, Role role) {
+        AppUser user = new AppUser();
+        user.id = id;
+        user.username = username;
+        user.role = role;
+        return user;
+    }
+
     // ========================================
     // UserDetails Methoden (PFLICHT für Spring Security!)
     // ========================================
@@ -0,0 +1,74 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archivierte GameSession (kalte Tabelle).
+ * <p>
+ * Der Archiv-Job verschiebt alte Zeilen aus "game_sessions" hierher,
+ * damit die heisse Tabelle klein bleibt. Die ID wird 1:1 übernommen,
+ * deshalb gibt es hier KEIN @GeneratedValue.
+ * </p>
+ * Die Zeilen werden nur per INSERT ... SELECT geschrieben
+ * (siehe GameSessionRepository) und danach nur noch gelesen.
+ */
+@Entity
+@Table(name = "game_sessions_archive",
+        indexes = @Index(name = "idx_game_sessions_archive_user_played",
+                columnList = "user_id, played_at"))
+public class ArchivedGameSession {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer correctAnswers;
+
+    @Column(nullable = false)
+    private Integer totalQuestions;
+
+    @Column(nullable = false)
+    private Integer totalScore;
+
+    @Column(name = "played_at", nullable = false)
+    private LocalDateTime playedAt;
+
+    // Default Constructor für JPA
+    protected ArchivedGameSession() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public Integer getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public Integer getTotalScore() {
+        return totalScore;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+}
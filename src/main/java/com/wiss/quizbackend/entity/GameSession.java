@@ -1,15 +1,26 @@
 package com.wiss.quizbackend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "game_sessions")
+@Table(name = "game_sessions",
+        indexes = {
+                // Archiv-Job sucht die ältesten Sessions (MIN/played_at < cutoff)
+                @Index(name = "idx_game_sessions_played_at", columnList = "played_at"),
+                // Game-Historie (Keyset-Pagination), siehe GameSessionRepository
+                @Index(name = "idx_game_sessions_user_played", columnList = "user_id, played_at, id"),
+                @Index(name = "idx_game_sessions_user_category_played",
+                        columnList = "user_id, category, played_at, id")
+        })
 public class GameSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "game_sessions_seq")
+    @SequenceGenerator(name = "game_sessions_seq", sequenceName = "game_sessions_seq",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +41,18 @@ public class GameSession {
     @Column(nullable = false)
     private LocalDateTime playedAt;
 
+    // Zeitpunkt von finishGame(), null solange das Game läuft
+    @Column
+    private LocalDateTime finishedAt;
+
+    // Optimistic Locking: Hibernate zählt bei jedem UPDATE hoch und prüft
+    // "WHERE version = ?" - wer mit einem veralteten Stand speichert, verliert.
+    // Default 0, damit bestehende Zeilen beim Schema-Update einen Wert bekommen.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Default Constructor für JPA
     public GameSession() {}
 
@@ -100,4 +123,16 @@ public class GameSession {
     public void setPlayedAt(LocalDateTime playedAt) {
         this.playedAt = playedAt;
     }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
 }
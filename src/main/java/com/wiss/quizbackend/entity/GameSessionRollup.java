@@ -0,0 +1,91 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Verdichtete GameSessions: eine Zeile pro User, Kategorie und Monat.
+ * <p>
+ * Alte GameSessions werden vom Archiv-Job in diese Tabelle "gefaltet".
+ * Für das Leaderboard reichen Anzahl Games und Summe der Scores - die
+ * einzelnen Sessions braucht es dafür nicht mehr.
+ * </p>
+ * Analogie: Statt jede Quittung aufzubewahren, nur die Monatsabrechnung.
+ */
+@Entity
+@Table(name = "game_session_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_game_session_rollups_user_category_period",
+                columnNames = {"user_id", "category", "period_start"}))
+public class GameSessionRollup {
+
+    @Id
+    @GeneratedValue(generator = "game_session_rollups_seq")
+    @SequenceGenerator(name = "game_session_rollups_seq", sequenceName = "game_session_rollups_seq",
+            allocationSize = IdAllocation.BLOCK_SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String category;
+
+    // Erster Tag des Monats, z.B. 2025-03-01 für alle Games im März 2025
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private Long gamesPlayed;
+
+    @Column(nullable = false)
+    private Long totalScore;
+
+    // Default Constructor für JPA
+    public GameSessionRollup() {}
+
+    // Constructor für einen neuen (leeren) Monat
+    public GameSessionRollup(Long userId, String category, LocalDate periodStart) {
+        this.userId = userId;
+        this.category = category;
+        this.periodStart = periodStart;
+        this.gamesPlayed = 0L;
+        this.totalScore = 0L;
+    }
+
+    /**
+     * Addiert weitere archivierte Games zu diesem Monat.
+     *
+     * @param games Anzahl archivierter Games
+     * @param score Summe der Scores dieser Games
+     */
+    public void add(long games, long score) {
+        this.gamesPlayed += games;
+        this.totalScore += score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public Long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public Long getTotalScore() {
+        return totalScore;
+    }
+}
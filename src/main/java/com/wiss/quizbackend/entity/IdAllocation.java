@@ -0,0 +1,40 @@
+package com.wiss.quizbackend.entity;
+
+/**
+ * ID-Vergabe für alle Entities: Datenbank-Sequence mit "pooled-lo" Optimizer.
+ * <p>
+ * Warum nicht GenerationType.IDENTITY?
+ * - IDENTITY: Die DB vergibt die ID erst beim INSERT
+ *   → Hibernate muss JEDEN Insert einzeln ausführen, um die ID zurückzulesen
+ *   → JDBC-Batching ist unmöglich
+ * - Sequence + pooled-lo: Hibernate holt mit EINEM nextval() gleich einen
+ *   ganzen Block IDs (z.B. 50) und vergibt sie selbst
+ *   → Inserts können gesammelt und als Batch geschickt werden
+ * </p>
+ * Analogie: Statt für jedes Paket einzeln eine Nummer am Schalter zu ziehen,
+ * holt man sich eine Rolle mit 50 Nummern.
+ * <p>
+ * Jede Entity deklariert ihre Sequence mit @SequenceGenerator(allocationSize = BLOCK_SIZE).
+ * Den Optimizer wählt hibernate.id.optimizer.pooled.preferred=pooled-lo (application.properties):
+ * der Wert aus nextval() ist die ERSTE ID des Blocks, nicht die letzte wie bei "pooled".
+ * </p>
+ * Bewusst KEIN Property (z.B. quiz.id.allocation-size), obwohl ursprünglich so gewünscht:
+ * - allocationSize in @SequenceGenerator muss eine Compile-Zeit-Konstante sein
+ * - das INCREMENT BY steht in den Flyway-Migrationen und ist nach dem Rollout fix
+ * - ein Property, das davon abweicht, vergibt doppelte IDs (grösser) oder verschenkt
+ *   IDs (kleiner) - eine Einstellung, die man nur falsch ändern kann, gehört nicht
+ *   in application.properties
+ * Andere Blockgrösse = neue Migration (ALTER SEQUENCE ... INCREMENT BY n) UND diese Konstante ändern.
+ */
+public final class IdAllocation {
+
+    /**
+     * Grösse des ID-Blocks pro nextval().
+     * MUSS dem "INCREMENT BY" der Sequences in der Datenbank entsprechen
+     * (db/migration/V4__id_sequences.sql, V7__refresh_tokens.sql)!
+     */
+    public static final int BLOCK_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
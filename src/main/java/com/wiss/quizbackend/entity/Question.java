@@ -9,7 +9,9 @@ import java.util.List;
 public class Question {
 
     @Id                                    // ← "Das ist der Primary Key"
-    @GeneratedValue(strategy = GenerationType.IDENTITY)  // ← "PostgreSQL macht Auto-Increment"
+    @GeneratedValue(generator = "questions_seq")  // ← "IDs blockweise aus einer Sequence holen"
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 128)  // ← "Spalte darf nicht NULL sein, max 128 Zeichen"
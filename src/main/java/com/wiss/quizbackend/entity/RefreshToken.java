@@ -0,0 +1,93 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh Token - ein langlebiger, undurchsichtiger (opaque) Token,
+ * mit dem ein Client einen neuen kurzlebigen JWT bekommt, ohne das Passwort
+ * erneut zu senden.
+ * <p>
+ * Gespeichert wird NUR der SHA-256 Hash (32 Bytes) des Tokens - wer die
+ * Tabelle liest, kann damit keine Tokens erneuern.
+ * </p>
+ * Rotation: Jeder Refresh ersetzt den Token durch einen neuen aus derselben
+ * "Familie" (familyId). Der alte wird als widerrufen markiert. Taucht ein
+ * widerrufener Token wieder auf, wurde er gestohlen → die ganze Familie wird widerrufen.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                // Aufräum-Job löscht abgelaufene Tokens
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq",
+            allocationSize = IdAllocation.BLOCK_SIZE)
+    private Long id;
+
+    // SHA-256 des Tokens, nie der Token selbst
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private AppUser user;
+
+    // Alle Tokens einer Login-Sitzung (Login + alle Rotationen) teilen dieselbe Familie
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // null = aktiv; gesetzt bei Rotation, Logout oder Widerruf
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    // Default Constructor für JPA
+    public RefreshToken() {}
+
+    public RefreshToken(byte[] tokenHash, AppUser user, UUID familyId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public AppUser getUser() {
+        return user;
+    }
+
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Ein einzeln widerrufener JWT (z.B. nach Logout).
+ * <p>
+ * Nur die "jti" wird gespeichert, nicht der Token selbst. Die Zeilen werden
+ * beim Start in die TokenRevocationList geladen und nach dem Ablauf des
+ * Tokens gelöscht - die Tabelle bleibt so klein.
+ * </p>
+ * Zeitpunkte als Instant, weil sie direkt mit "exp"/"iat" des JWT verglichen werden.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+
+    // UUID aus dem "jti" Claim
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    // Default Constructor für JPA
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, Long userId, Instant expiresAt, Instant revokedAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.wiss.quizbackend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Sperre aller JWTs eines Users ("überall abmelden", Admin-Sperre).
+ * <p>
+ * Jeder Token des Users mit iat <= revokedBefore ist ungültig.
+ * Eine Zeile pro User, ein neuer Widerruf schiebt den Zeitpunkt nach vorne.
+ * Die Zeile wird gelöscht, sobald alle betroffenen Tokens abgelaufen sind.
+ * </p>
+ */
+@Entity
+@Table(name = "user_token_revocations")
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+
+    // Default Constructor für JPA
+    public UserTokenRevocation() {}
+
+    public UserTokenRevocation(Long userId, Instant revokedBefore) {
+        this.userId = userId;
+        this.revokedBefore = revokedBefore;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getRevokedBefore() {
+        return revokedBefore;
+    }
+}
@@ -0,0 +1,21 @@
+package com.wiss.quizbackend.event;
+
+import java.time.Instant;
+
+/**
+ * Gemeinsames Interface aller Game-Events.
+ * <p>
+ * "sealed": Nur die hier erlaubten Event-Typen existieren.
+ * Ein switch über GameEvent ist dadurch vollständig prüfbar.
+ * </p>
+ */
+public sealed interface GameEvent permits GameStartedEvent, GameFinishedEvent {
+
+    long sessionId();
+
+    long userId();
+
+    String category();
+
+    Instant occurredAt();
+}
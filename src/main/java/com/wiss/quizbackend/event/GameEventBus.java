@@ -0,0 +1,184 @@
+package com.wiss.quizbackend.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event-Bus für Game-Events.
+ * <p>
+ * Request-Threads legen Events nur in den lock-freien Ringpuffer
+ * (siehe GameEventRingBuffer) - das kostet ein paar Nanosekunden und
+ * blockiert nie. Ein einzelner Hintergrund-Thread holt die Events ab
+ * und verteilt sie an alle GameEventListener (z.B. GameEventLogWriter).
+ * </p>
+ * Ist der Puffer voll (Listener zu langsam), wird das Event verworfen
+ * und gezählt - der Request wartet nicht.
+ * <p>
+ * Konfiguration:
+ * - quiz.events.buffer-size: Grösse des Ringpuffers (Default 8192)
+ * </p>
+ */
+@Component
+public class GameEventBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GameEventBus.class);
+
+    // Backoff des Consumers, wenn der Puffer leer ist
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final GameEventRingBuffer buffer;
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public GameEventBus(ObjectProvider<GameEventListener> listeners,
+                        @Value("${quiz.events.buffer-size:8192}") int bufferSize) {
+        this.buffer = new GameEventRingBuffer(bufferSize);
+        listeners.orderedStream().forEach(this.listeners::add);
+    }
+
+    /**
+     * Veröffentlicht ein Event.
+     * <p>
+     * Läuft gerade eine Transaktion, wird das Event erst nach dem COMMIT
+     * in den Puffer gelegt - bei einem Rollback gibt es also kein Event
+     * für ein Game, das gar nicht gespeichert wurde.
+     * </p>
+     *
+     * @param event Das Event
+     */
+    public void publish(GameEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(event);
+                }
+            });
+        } else {
+            offer(event);
+        }
+    }
+
+    /**
+     * Registriert einen zusätzlichen Listener zur Laufzeit.
+     *
+     * @param listener Der Listener
+     */
+    public void subscribe(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    private void offer(GameEvent event) {
+        if (buffer.offer(event)) {
+            published.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // ========================================
+    // Consumer-Thread
+    // ========================================
+
+    private void consumeLoop() {
+        long idleParkNanos = 1_000;
+        while (running) {
+            GameEvent event = buffer.poll();
+            if (event == null) {
+                // Nichts zu tun → kurz schlafen, Schlafdauer langsam erhöhen
+                LockSupport.parkNanos(idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+                continue;
+            }
+            idleParkNanos = 1_000;
+            dispatch(event);
+        }
+        drain();
+    }
+
+    private void drain() {
+        GameEvent event;
+        while ((event = buffer.poll()) != null) {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(GameEvent event) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // Ein fehlerhafter Listener darf die anderen nicht stoppen
+                log.warn("GameEventListener {} fehlgeschlagen: {}",
+                        listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    // ========================================
+    // SmartLifecycle: Thread mit dem Spring Context starten/stoppen
+    // ========================================
+
+    @Override
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consumeLoop, "game-event-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (consumer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            // Restliche Events noch zustellen lassen
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            log.warn("GameEventBus: {} Events verworfen (Puffer voll)", dropped.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,17 @@
+package com.wiss.quizbackend.event;
+
+/**
+ * Abonnent für Game-Events.
+ * <p>
+ * Jede Spring-Bean, die dieses Interface implementiert, bekommt automatisch
+ * alle Events vom GameEventBus zugestellt.
+ * </p>
+ * WICHTIG: Wird auf dem Hintergrund-Thread des GameEventBus aufgerufen,
+ * nie auf einem Request-Thread. Langsame Listener verzögern also nur
+ * die Zustellung an andere Listener, nicht die Requests.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,39 @@
+package com.wiss.quizbackend.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schreibt jedes Game-Event als strukturierte Log-Zeile (key=value).
+ * <p>
+ * Läuft auf dem Consumer-Thread des GameEventBus, der Request-Thread
+ * wartet also nie auf die Ausgabe.
+ * </p>
+ * Logger-Name "game-events": logback-spring.xml leitet ihn in eine eigene, rotierende
+ * Datei um (quiz.events.log.file, Default logs/game-events.log), nicht auf die Konsole.
+ * Ein-/Ausschalten per logging.level.game-events.
+ * Beispiel:
+ * event=game_finished sessionId=42 userId=7 category=sports correct=8 total=10 score=80 at=2025-06-01T10:15:30Z
+ */
+@Component
+public class GameEventLogWriter implements GameEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger("game-events");
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        switch (event) {
+            case GameStartedEvent e -> log.info(
+                    "event=game_started sessionId={} userId={} category={} total={} at={}",
+                    e.sessionId(), e.userId(), e.category(), e.totalQuestions(), e.occurredAt());
+            case GameFinishedEvent e -> log.info(
+                    "event=game_finished sessionId={} userId={} category={} correct={} total={} score={} at={}",
+                    e.sessionId(), e.userId(), e.category(), e.correctAnswers(),
+                    e.totalQuestions(), e.score(), e.occurredAt());
+        }
+    }
+}
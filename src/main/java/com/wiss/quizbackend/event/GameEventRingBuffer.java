@@ -0,0 +1,84 @@
+package com.wiss.quizbackend.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-freier Ringpuffer: viele Producer (Request-Threads), EIN Consumer.
+ * <p>
+ * Funktionsweise:
+ * - Producer reservieren einen Platz per CAS auf producerIndex
+ *   und schreiben das Event in diesen Slot
+ * - Der Consumer liest Slot für Slot, leert ihn und rückt consumerIndex vor
+ * - Ist der Puffer voll, gibt offer() sofort false zurück (kein Warten!)
+ * </p>
+ * Analogie: Ein Förderband mit fixen Fächern. Wer etwas ablegt, nimmt sich
+ * das nächste freie Fach; ist keines frei, wird nicht gewartet.
+ */
+final class GameEventRingBuffer {
+
+    private final AtomicReferenceArray<GameEvent> slots;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param requestedCapacity Gewünschte Grösse, wird auf die nächste Zweierpotenz aufgerundet
+     */
+    GameEventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Kapazität muss mindestens 2 sein");
+        }
+        // Zweierpotenz: Index → Slot per Bitmaske statt Modulo
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Legt ein Event ab. Darf von beliebig vielen Threads gleichzeitig aufgerufen werden.
+     *
+     * @return false wenn der Puffer voll ist (Event wird verworfen)
+     */
+    boolean offer(GameEvent event) {
+        while (true) {
+            long index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                return false;
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                // lazySet: Schreiben ohne volle Memory-Barrier, der Consumer sieht es trotzdem
+                slots.lazySet((int) (index & mask), event);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Holt das nächste Event. Darf nur vom EINEN Consumer-Thread aufgerufen werden.
+     *
+     * @return das Event oder null wenn (noch) nichts da ist
+     */
+    GameEvent poll() {
+        long index = consumerIndex.get();
+        int slot = (int) (index & mask);
+        GameEvent event = slots.get(slot);
+        if (event == null) {
+            // Leer - oder ein Producer hat reserviert, aber noch nicht geschrieben
+            return null;
+        }
+        slots.lazySet(slot, null);
+        consumerIndex.lazySet(index + 1);
+        return event;
+    }
+
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,17 @@
+package com.wiss.quizbackend.event;
+
+import java.time.Instant;
+
+/**
+ * Ein Game wurde beendet (siehe GameSessionService.finishGame).
+ */
+public record GameFinishedEvent(
+        long sessionId,
+        long userId,
+        String category,
+        int correctAnswers,
+        int totalQuestions,
+        int score,
+        Instant occurredAt
+) implements GameEvent {
+}
@@ -0,0 +1,15 @@
+package com.wiss.quizbackend.event;
+
+import java.time.Instant;
+
+/**
+ * Ein Game wurde gestartet (siehe GameSessionService.startGame).
+ */
+public record GameStartedEvent(
+        long sessionId,
+        long userId,
+        String category,
+        int totalQuestions,
+        Instant occurredAt
+) implements GameEvent {
+}
@@ -0,0 +1,21 @@
+package com.wiss.quizbackend.exception;
+
+public class GameAlreadyFinishedException extends RuntimeException {
+
+    private final Long sessionId;
+    private final Integer storedCorrectAnswers;
+
+    public GameAlreadyFinishedException(Long sessionId, Integer storedCorrectAnswers) {
+        super("GameSession " + sessionId + " already finished with " + storedCorrectAnswers + " correct answers");
+        this.sessionId = sessionId;
+        this.storedCorrectAnswers = storedCorrectAnswers;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Integer getStoredCorrectAnswers() {
+        return storedCorrectAnswers;
+    }
+}
@@ -1,9 +1,11 @@
 package com.wiss.quizbackend.exception;
 
 import com.wiss.quizbackend.dto.ErrorResponseDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -88,6 +90,72 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(GameAlreadyFinishedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleGameAlreadyFinished(
+            GameAlreadyFinishedException ex, WebRequest request) {
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "GAME_ALREADY_FINISHED",
+                "Game " + ex.getSessionId() + " wurde bereits mit " +
+                        ex.getStoredCorrectAnswers() + " richtigen Antworten beendet.",
+                409,
+                extractPath(request)
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ProfilingInProgressException.class)
+    public ResponseEntity<ErrorResponseDTO> handleProfilingInProgress(
+            ProfilingInProgressException ex, WebRequest request) {
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "PROFILING_IN_PROGRESS",
+                "Es läuft bereits eine Aufzeichnung. Bitte warten, bis sie fertig ist.",
+                409,
+                extractPath(request)
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingOverloaded(
+            PasswordHashingOverloadedException ex, WebRequest request) {
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "SERVICE_BUSY",
+                "Zu viele Anmeldungen gleichzeitig. Bitte in " +
+                        ex.getRetryAfterSeconds() + " Sekunden erneut versuchen.",
+                503,
+                extractPath(request)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Keine DB-Connection erhalten: Warteschlange vor der Datenbank voll
+     * (ConcurrencyLimitedDataSource) oder Datenbank nicht erreichbar.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDatabaseBusy(
+            CannotCreateTransactionException ex, WebRequest request) {
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "SERVICE_BUSY",
+                "Der Server ist gerade ausgelastet. Bitte in 1 Sekunde erneut versuchen.",
+                503,
+                extractPath(request)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(
             IllegalArgumentException ex, WebRequest request) {
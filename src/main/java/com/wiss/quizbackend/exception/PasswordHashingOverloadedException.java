@@ -0,0 +1,15 @@
+package com.wiss.quizbackend.exception;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("Password hashing queue is full, retry after " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package com.wiss.quizbackend.exception;
+
+public class ProfilingInProgressException extends RuntimeException {
+
+    public ProfilingInProgressException() {
+        super("A JFR recording is already in progress");
+    }
+}
@@ -4,6 +4,7 @@ import com.wiss.quizbackend.dto.QuestionDTO;
 import com.wiss.quizbackend.dto.QuestionFormDTO;
 import com.wiss.quizbackend.entity.AppUser;
 import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.timing.RequestTimings;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -145,9 +146,12 @@ public class QuestionMapper {
      * @see #toDTO(Question)
      */
     public static List<QuestionDTO> toDTOList(List<Question> entities) {
-        return entities.stream()
+        long start = RequestTimings.start();
+        List<QuestionDTO> dtos = entities.stream()
                 .map(QuestionMapper::toDTO)
                 .toList();
+        RequestTimings.record("mapping", start);
+        return dtos;
     }
 
     /**
@@ -163,8 +167,11 @@ public class QuestionMapper {
      * @see #toFormDTO(Question)
      */
     public static List<QuestionFormDTO> toFormDTOList(List<Question> entities) {
-        return entities.stream()
+        long start = RequestTimings.start();
+        List<QuestionFormDTO> dtos = entities.stream()
                 .map(QuestionMapper::toFormDTO)
                 .toList();
+        RequestTimings.record("mapping", start);
+        return dtos;
     }
 }
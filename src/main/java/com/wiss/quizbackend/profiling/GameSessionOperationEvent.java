@@ -0,0 +1,60 @@
+package com.wiss.quizbackend.profiling;
+
+import com.wiss.quizbackend.entity.GameSession;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Game starten oder beenden.
+ * Nur erfolgreiche Operationen - Validierungsfehler und Konflikte (409) erzeugen kein Event.
+ */
+@Name("com.wiss.quizbackend.GameSessionOperation")
+@Label("Game Session Operation")
+@Category({"Quiz Backend", "Games"})
+@Description("Start oder Finish einer GameSession")
+@StackTrace(false)
+public class GameSessionOperationEvent extends jdk.jfr.Event {
+
+    /**
+     * Füllt das Event aus der GameSession und schreibt es - nur wenn JFR es aufzeichnet.
+     */
+    public void commit(String operation, GameSession session, boolean repeated) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.operation = operation;
+        this.sessionId = session.getId() != null ? session.getId() : 0;
+        this.userId = session.getUserId() != null ? session.getUserId() : 0;
+        this.category = session.getCategory();
+        this.totalQuestions = session.getTotalQuestions() != null ? session.getTotalQuestions() : 0;
+        this.correctAnswers = session.getCorrectAnswers() != null ? session.getCorrectAnswers() : 0;
+        this.repeated = repeated;
+        commit();
+    }
+
+    @Label("Operation")
+    @Description("start oder finish")
+    public String operation;
+
+    @Label("Session Id")
+    public long sessionId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Category")
+    public String category;
+
+    @Label("Total Questions")
+    public int totalQuestions;
+
+    @Label("Correct Answers")
+    public int correctAnswers;
+
+    @Label("Repeated")
+    @Description("true = Game war schon beendet (Retry, kein Schreibzugriff)")
+    public boolean repeated;
+}
@@ -0,0 +1,28 @@
+package com.wiss.quizbackend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: JWT im JwtAuthenticationFilter prüfen (Cache, Signatur, Widerruf).
+ */
+@Name("com.wiss.quizbackend.JwtVerification")
+@Label("JWT Verification")
+@Category({"Quiz Backend", "Security"})
+@Description("Prüfung des Bearer Tokens eines Requests")
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Cache Hit")
+    @Description("true = aus dem VerifiedTokenCache, keine Signaturprüfung")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Revoked")
+    public boolean revoked;
+}
@@ -0,0 +1,29 @@
+package com.wiss.quizbackend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Top 10 berechnen (Aggregation + Usernamen nachladen).
+ */
+@Name("com.wiss.quizbackend.LeaderboardAggregation")
+@Label("Leaderboard Aggregation")
+@Category({"Quiz Backend", "Leaderboard"})
+@Description("Berechnung der Top 10 inkl. Username pro Zeile")
+@StackTrace(false)
+public class LeaderboardAggregationEvent extends jdk.jfr.Event {
+
+    @Label("Scope")
+    @Description("global oder category")
+    public String scope;
+
+    @Label("Category")
+    public String category;
+
+    @Label("Rows")
+    @Description("Zeilen im Resultat = Anzahl User-Lookups")
+    public int rowCount;
+}
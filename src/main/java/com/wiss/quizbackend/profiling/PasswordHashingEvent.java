@@ -0,0 +1,32 @@
+package com.wiss.quizbackend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR-Event: BCrypt-Hash auf dem Pool des BoundedPasswordEncoder.
+ * Die Dauer des Events ist die reine Hash-Zeit, die Wartezeit steht in queueWait.
+ */
+@Name("com.wiss.quizbackend.PasswordHashing")
+@Label("Password Hashing")
+@Category({"Quiz Backend", "Security"})
+@Description("BCrypt encode/matches")
+@StackTrace(false)
+public class PasswordHashingEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("encode oder matches")
+    public String operation;
+
+    @Label("Matched")
+    @Description("Resultat von matches (bei encode immer false)")
+    public boolean matched;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+}
@@ -0,0 +1,30 @@
+package com.wiss.quizbackend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Fragen aus dem Katalog lesen (alle, nach Kategorie/Schwierigkeit, Suche).
+ */
+@Name("com.wiss.quizbackend.QuestionCatalogRead")
+@Label("Question Catalog Read")
+@Category({"Quiz Backend", "Questions"})
+@Description("Lesen von Fragen aus dem Katalog")
+@StackTrace(false)
+public class QuestionCatalogReadEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Category")
+    public String category;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Rows")
+    public int rowCount;
+}
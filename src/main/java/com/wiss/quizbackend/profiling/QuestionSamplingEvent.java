@@ -0,0 +1,27 @@
+package com.wiss.quizbackend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Zufällige Fragen für eine Quiz-Runde auswählen.
+ */
+@Name("com.wiss.quizbackend.QuestionSampling")
+@Label("Random Question Sampling")
+@Category({"Quiz Backend", "Questions"})
+@Description("Zufallsauswahl von Fragen (ORDER BY RANDOM)")
+@StackTrace(false)
+public class QuestionSamplingEvent extends jdk.jfr.Event {
+
+    @Label("Category")
+    public String category;
+
+    @Label("Requested")
+    public int requested;
+
+    @Label("Returned")
+    public int returned;
+}
@@ -13,6 +13,28 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
     Optional<AppUser> findByEmail(String email);
 
+    /**
+     * Login mit Username ODER E-Mail - genau EINE Abfrage.
+     * <p>
+     * Enthält der Login ein "@", ist es eine E-Mail, sonst ein Username.
+     * Beide Spalten haben einen Unique-Index, die Abfrage ist also immer
+     * ein direkter Index-Treffer (kein "username = ? OR email = ?").
+     * </p>
+     *
+     * @param login Username oder E-Mail
+     * @return Optional mit User oder empty
+     */
+    default Optional<AppUser> findByLogin(String login) {
+        return isEmailLogin(login) ? findByEmail(login) : findByUsername(login);
+    }
+
+    /**
+     * @return true wenn der Login als E-Mail behandelt wird
+     */
+    static boolean isEmailLogin(String login) {
+        return login.contains("@");
+    }
+
     // Für Login-Validierung
     Optional<AppUser> findByEmailAndPassword(String email, String password);
 
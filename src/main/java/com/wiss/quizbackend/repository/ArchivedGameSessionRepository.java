@@ -0,0 +1,68 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.dto.GameHistoryDTO;
+import com.wiss.quizbackend.entity.ArchivedGameSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lesezugriff auf archivierte GameSessions (Tabelle game_sessions_archive).
+ * <p>
+ * Geschrieben wird das Archiv nur vom GameSessionArchiveService (INSERT ... SELECT
+ * in GameSessionRepository). Hier nur die Game-Historie, damit alte Games
+ * nach der Archivierung nicht aus der Historie verschwinden.
+ * </p>
+ * Gleicher Cursor wie in GameSessionRepository: archivierte Sessions behalten ihre ID.
+ */
+public interface ArchivedGameSessionRepository extends JpaRepository<ArchivedGameSession, Long> {
+
+    /**
+     * Eine Seite der archivierten Game-Historie (Keyset-Pagination, neueste zuerst).
+     * Nutzt den Index idx_game_sessions_archive_user_played.
+     *
+     * @see GameSessionRepository#findHistoryPage
+     */
+    @Query("""
+        SELECT new com.wiss.quizbackend.dto.GameHistoryDTO(
+            a.id, a.category, a.correctAnswers, a.totalQuestions, a.totalScore, a.playedAt)
+        FROM ArchivedGameSession a
+        WHERE a.userId = :userId
+          AND a.playedAt >= :from
+          AND a.playedAt <= :beforePlayedAt
+          AND (a.playedAt < :beforePlayedAt
+               OR (a.playedAt = :beforePlayedAt AND a.id < :beforeId))
+        ORDER BY a.playedAt DESC, a.id DESC
+        """)
+    List<GameHistoryDTO> findHistoryPage(@Param("userId") Long userId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("beforePlayedAt") LocalDateTime beforePlayedAt,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    /**
+     * Wie findHistoryPage(), aber nur für eine Kategorie.
+     */
+    @Query("""
+        SELECT new com.wiss.quizbackend.dto.GameHistoryDTO(
+            a.id, a.category, a.correctAnswers, a.totalQuestions, a.totalScore, a.playedAt)
+        FROM ArchivedGameSession a
+        WHERE a.userId = :userId
+          AND a.category = :category
+          AND a.playedAt >= :from
+          AND a.playedAt <= :beforePlayedAt
+          AND (a.playedAt < :beforePlayedAt
+               OR (a.playedAt = :beforePlayedAt AND a.id < :beforeId))
+        ORDER BY a.playedAt DESC, a.id DESC
+        """)
+    List<GameHistoryDTO> findHistoryPageByCategory(@Param("userId") Long userId,
+                                                   @Param("category") String category,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("beforePlayedAt") LocalDateTime beforePlayedAt,
+                                                   @Param("beforeId") Long beforeId,
+                                                   Pageable pageable);
+}
@@ -1,9 +1,15 @@
 package com.wiss.quizbackend.repository;
 
+import com.wiss.quizbackend.dto.GameHistoryDTO;
 import com.wiss.quizbackend.entity.GameSession;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -45,9 +51,70 @@ public interface GameSessionRepository
      * Findet alle GameSessions eines Users, sortiert nach Datum (neueste zuerst)
      *
      * SQL: SELECT * FROM game_sessions WHERE user_id = ? ORDER BY played_at DESC
+     *
+     * ACHTUNG: Unbegrenzte Liste! Für die API findHistoryPage() verwenden.
      */
     List<GameSession> findByUserIdOrderByPlayedAtDesc(Long userId);
 
+    /**
+     * Eine Seite der Game-Historie eines Users (Keyset-Pagination).
+     * <p>
+     * Liefert alle Sessions "vor" dem Cursor (beforePlayedAt, beforeId),
+     * neueste zuerst. Bei gleichem played_at entscheidet die ID,
+     * damit kein Eintrag doppelt oder gar nicht erscheint.
+     * Nutzt den Index idx_game_sessions_user_played.
+     * </p>
+     * Die Bedingung "playedAt <= :beforePlayedAt" ist logisch doppelt (steckt schon im OR),
+     * gibt dem Index aber eine obere Grenze: ohne sie liest die Datenbank auf tiefen
+     * Seiten alle neueren Einträge des Users durch, bevor der erste passende kommt.
+     *
+     * @param userId Die User-ID
+     * @param from Untere Grenze (inklusiv)
+     * @param beforePlayedAt Cursor: played_at des letzten gesehenen Eintrags
+     * @param beforeId Cursor: ID des letzten gesehenen Eintrags
+     * @param pageable Für LIMIT (PageRequest.of(0, size))
+     * @return Schlanke DTOs statt Entities
+     */
+    @Query("""
+        SELECT new com.wiss.quizbackend.dto.GameHistoryDTO(
+            g.id, g.category, g.correctAnswers, g.totalQuestions, g.totalScore, g.playedAt)
+        FROM GameSession g
+        WHERE g.userId = :userId
+          AND g.playedAt >= :from
+          AND g.playedAt <= :beforePlayedAt
+          AND (g.playedAt < :beforePlayedAt
+               OR (g.playedAt = :beforePlayedAt AND g.id < :beforeId))
+        ORDER BY g.playedAt DESC, g.id DESC
+        """)
+    List<GameHistoryDTO> findHistoryPage(@Param("userId") Long userId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("beforePlayedAt") LocalDateTime beforePlayedAt,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    /**
+     * Wie findHistoryPage(), aber nur für eine Kategorie.
+     * Nutzt den Index idx_game_sessions_user_category_played.
+     */
+    @Query("""
+        SELECT new com.wiss.quizbackend.dto.GameHistoryDTO(
+            g.id, g.category, g.correctAnswers, g.totalQuestions, g.totalScore, g.playedAt)
+        FROM GameSession g
+        WHERE g.userId = :userId
+          AND g.category = :category
+          AND g.playedAt >= :from
+          AND g.playedAt <= :beforePlayedAt
+          AND (g.playedAt < :beforePlayedAt
+               OR (g.playedAt = :beforePlayedAt AND g.id < :beforeId))
+        ORDER BY g.playedAt DESC, g.id DESC
+        """)
+    List<GameHistoryDTO> findHistoryPageByCategory(@Param("userId") Long userId,
+                                                   @Param("category") String category,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("beforePlayedAt") LocalDateTime beforePlayedAt,
+                                                   @Param("beforeId") Long beforeId,
+                                                   Pageable pageable);
+
     /**
      * Findet alle GameSessions eines Users in einer bestimmten Kategorie
      *
@@ -55,4 +122,60 @@ public interface GameSessionRepository
      */
     List<GameSession> findByUserIdAndCategory(Long userId, String category);
 
+    // ========================================
+    // Archivierung (siehe GameSessionArchiveService)
+    // ========================================
+
+    /**
+     * Ältester Zeitpunkt in der heissen Tabelle
+     *
+     * SQL: SELECT MIN(played_at) FROM game_sessions
+     *
+     * @return played_at der ältesten Session oder null wenn leer
+     */
+    @Query("SELECT MIN(g.playedAt) FROM GameSession g")
+    LocalDateTime findOldestPlayedAt();
+
+    /**
+     * Fasst alle Sessions vor dem Stichtag pro User, Kategorie und Monat zusammen.
+     *
+     * @param cutoff Stichtag (exklusiv)
+     * @return Array: [userId, category, year, month, gamesPlayed, totalScore]
+     */
+    @Query("""
+        SELECT g.userId, g.category, YEAR(g.playedAt), MONTH(g.playedAt),
+               COUNT(g.id), SUM(g.totalScore)
+        FROM GameSession g
+        WHERE g.playedAt < :cutoff
+        GROUP BY g.userId, g.category, YEAR(g.playedAt), MONTH(g.playedAt)
+        """)
+    List<Object[]> summarizeSessionsPlayedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Kopiert alle Sessions vor dem Stichtag in die kalte Archiv-Tabelle.
+     *
+     * Native Query, damit die Zeilen nicht erst als Entities geladen werden müssen.
+     *
+     * @param cutoff Stichtag (exklusiv)
+     * @return Anzahl kopierter Zeilen
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO game_sessions_archive
+            (id, user_id, category, correct_answers, total_questions, total_score, played_at)
+        SELECT id, user_id, category, correct_answers, total_questions, total_score, played_at
+        FROM game_sessions
+        WHERE played_at < :cutoff
+        """, nativeQuery = true)
+    int copySessionsPlayedBeforeToArchive(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Löscht alle Sessions vor dem Stichtag aus der heissen Tabelle.
+     *
+     * @param cutoff Stichtag (exklusiv)
+     * @return Anzahl gelöschter Zeilen
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GameSession g WHERE g.playedAt < :cutoff")
+    int deleteSessionsPlayedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
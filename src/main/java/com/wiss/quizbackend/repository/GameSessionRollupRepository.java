@@ -0,0 +1,26 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.GameSessionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository für die verdichteten GameSessions (Monats-Rollups).
+ *
+ * Geschrieben wird nur vom Archiv-Job, gelesen wird über die
+ * Leaderboard-Queries (siehe LeaderboardRepository).
+ */
+@Repository
+public interface GameSessionRollupRepository extends JpaRepository<GameSessionRollup, Long> {
+
+    /**
+     * Findet den Rollup eines Users für eine Kategorie und einen Monat
+     *
+     * SQL: SELECT * FROM game_session_rollups WHERE user_id = ? AND category = ? AND period_start = ?
+     */
+    Optional<GameSessionRollup> findByUserIdAndCategoryAndPeriodStart(
+            Long userId, String category, LocalDate periodStart);
+}
@@ -14,6 +14,13 @@ import java.util.List;
  * Dieses Repository ist spezialisiert auf aggregierte Daten
  * und Statistiken für das Leaderboard.
  * Verwendet GameSession als Entity, aber nur für Leaderboard-Zwecke!
+ * <p>
+ * Alte GameSessions werden vom Archiv-Job in "game_session_rollups"
+ * verdichtet. Darum kombinieren alle Queries die heisse Tabelle
+ * "game_sessions" (1 Zeile = 1 Game) mit den Rollups
+ * (1 Zeile = games_played Games) per UNION ALL.
+ * Die Resultate sind identisch zu einer Abfrage über alle Sessions.
+ * </p>
  */
 @Repository
 public interface LeaderboardRepository extends JpaRepository<GameSession, Long> {
@@ -25,12 +32,18 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param pageable Für LIMIT (PageRequest.of(0, 10))
      * @return Array: [userId, totalScore, gamesPlayed]
      */
-    @Query("""
-        SELECT g.userId, SUM(g.totalScore) as totalScore, COUNT(g.id) as gamesPlayed
-        FROM GameSession g
-        GROUP BY g.userId
-        ORDER BY totalScore DESC
-        """)
+    @Query(value = """
+        SELECT t.user_id, SUM(t.total_score) AS total_score, SUM(t.games_played) AS games_played
+        FROM (
+            SELECT g.user_id, g.total_score, 1 AS games_played
+            FROM game_sessions g
+            UNION ALL
+            SELECT r.user_id, r.total_score, r.games_played
+            FROM game_session_rollups r
+        ) t
+        GROUP BY t.user_id
+        ORDER BY total_score DESC, t.user_id
+        """, nativeQuery = true)
     List<Object[]> findTop10Players(Pageable pageable);
 
     /**
@@ -41,13 +54,20 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param pageable Für LIMIT
      * @return Array: [userId, totalScore, gamesPlayed]
      */
-    @Query("""
-        SELECT g.userId, SUM(g.totalScore) as totalScore, COUNT(g.id) as gamesPlayed
-        FROM GameSession g
-        WHERE g.category = :category
-        GROUP BY g.userId
-        ORDER BY totalScore DESC
-        """)
+    @Query(value = """
+        SELECT t.user_id, SUM(t.total_score) AS total_score, SUM(t.games_played) AS games_played
+        FROM (
+            SELECT g.user_id, g.total_score, 1 AS games_played
+            FROM game_sessions g
+            WHERE g.category = :category
+            UNION ALL
+            SELECT r.user_id, r.total_score, r.games_played
+            FROM game_session_rollups r
+            WHERE r.category = :category
+        ) t
+        GROUP BY t.user_id
+        ORDER BY total_score DESC, t.user_id
+        """, nativeQuery = true)
     List<Object[]> findTop10PlayersByCategory(
             @Param("category") String category,
             Pageable pageable
@@ -59,26 +79,27 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      * @param userId Die User-ID
      * @return Anzahl gespielte Games
      */
-    @Query("SELECT COUNT(g) FROM GameSession g WHERE g.userId = :userId")
+    @Query(value = """
+        SELECT CAST(
+            (SELECT COUNT(*) FROM game_sessions g WHERE g.user_id = :userId)
+          + (SELECT COALESCE(SUM(r.games_played), 0) FROM game_session_rollups r WHERE r.user_id = :userId)
+        AS BIGINT)
+        """, nativeQuery = true)
     Long countGamesByUser(@Param("userId") Long userId);
 
     /**
      * Summiert den Total-Score eines Users
      *
      * @param userId Die User-ID
-     * @return Total Score über alle Games
+     * @return Total Score über alle Games (0 wenn keine Games)
      */
-    @Query("SELECT SUM(g.totalScore) FROM GameSession g WHERE g.userId = :userId")
-    Integer sumScoreByUser(@Param("userId") Long userId);
-
-    /**
-     * Berechnet den durchschnittlichen Score eines Users
-     *
-     * @param userId Die User-ID
-     * @return Durchschnittlicher Score
-     */
-    @Query("SELECT AVG(g.totalScore) FROM GameSession g WHERE g.userId = :userId")
-    Double averageScoreByUser(@Param("userId") Long userId);
+    @Query(value = """
+        SELECT CAST(
+            (SELECT COALESCE(SUM(g.total_score), 0) FROM game_sessions g WHERE g.user_id = :userId)
+          + (SELECT COALESCE(SUM(r.total_score), 0) FROM game_session_rollups r WHERE r.user_id = :userId)
+        AS BIGINT)
+        """, nativeQuery = true)
+    Long sumScoreByUser(@Param("userId") Long userId);
 
     /**
      * Anzahl Games pro Kategorie.
@@ -86,11 +107,17 @@ public interface LeaderboardRepository extends JpaRepository<GameSession, Long>
      *
      * @return Array: [category, count]
      */
-    @Query("""
-        SELECT g.category, COUNT(g.id) as count
-        FROM GameSession g
-        GROUP BY g.category
-        ORDER BY count DESC
-        """)
+    @Query(value = """
+        SELECT t.category, SUM(t.games_played) AS games_count
+        FROM (
+            SELECT g.category, 1 AS games_played
+            FROM game_sessions g
+            UNION ALL
+            SELECT r.category, r.games_played
+            FROM game_session_rollups r
+        ) t
+        GROUP BY t.category
+        ORDER BY games_count DESC
+        """, nativeQuery = true)
     List<Object[]> countGamesByCategory();
 }
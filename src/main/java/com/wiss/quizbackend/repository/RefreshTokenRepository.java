@@ -0,0 +1,50 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Token inkl. User in EINEM SELECT laden (Unique-Index auf token_hash).
+     * Der User wird für den neuen JWT gebraucht (Username, Rolle).
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Widerruft einen Token nur, wenn er noch aktiv ist.
+     * Zwei gleichzeitige Refreshs mit demselben Token: nur einer bekommt 1 zurück.
+     * clearAutomatically: ein späterer Lookup in derselben Transaktion sieht revokedAt.
+     *
+     * @return 1 wenn dieser Aufruf den Token widerrufen hat, sonst 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Abgelaufene Tokens löschen - widerrufene bleiben bis zum Ablauf stehen,
+     * damit eine Wiederverwendung noch erkannt wird.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    /**
+     * Sperren, von denen noch Tokens betroffen sein können
+     * (cutoff = jetzt - längste Token-Gültigkeit).
+     */
+    List<UserTokenRevocation> findByRevokedBeforeAfter(Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore <= :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,68 @@
+package com.wiss.quizbackend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Bestimmt beim Start die BCrypt-Stärke passend zur Hardware.
+ * <p>
+ * Stärke 12 braucht auf einem Laptop ~250ms, auf einer kleinen VM
+ * aber deutlich mehr. Statt die Stärke fest einzutragen, geben wir eine
+ * Ziel-Dauer vor (z.B. 100ms pro Hash) und messen.
+ * </p>
+ * <p>
+ * Jede Stufe verdoppelt die Arbeit (Stärke 11 = 2^11 Runden, 12 = 2^12 ...).
+ * Wir messen also nur die Mindest-Stärke und rechnen hoch -
+ * teure Messungen mit hohen Stärken sind nicht nötig.
+ * </p>
+ * Analogie: Die Schrittlänge einmal messen, statt jede Strecke abzulaufen.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Wählt die höchste Stärke, deren Hash-Dauer noch im Ziel liegt.
+     *
+     * @param target Ziel-Dauer pro Hash
+     * @param minCost Untergrenze (Sicherheit geht vor - auch wenn das Ziel überschritten wird)
+     * @param maxCost Obergrenze
+     * @return Die Stärke zwischen minCost und maxCost
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        String salt = BCrypt.gensalt(minCost);
+
+        // Aufwärmen: der JIT-Compiler soll den BCrypt-Code bereits optimiert haben
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            BCrypt.hashpw("calibration", salt);
+        }
+
+        // Schnellste von mehreren Messungen (weniger Störung durch GC/andere Threads)
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        int cost = minCost;
+        long predictedNanos = fastestNanos;
+        while (cost < maxCost && predictedNanos * 2 <= target.toNanos()) {
+            predictedNanos *= 2;
+            cost++;
+        }
+
+        log.info("BCrypt calibration: cost {} took {} ms, chose cost {} (~{} ms, target {} ms)",
+                minCost, fastestNanos / 1_000_000, cost, predictedNanos / 1_000_000, target.toMillis());
+        return cost;
+    }
+}
@@ -0,0 +1,102 @@
+package com.wiss.quizbackend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimaler, thread-safe Bloom-Filter über 64-Bit-Hashes.
+ * <p>
+ * Ein Bitfeld mit k "Fingerabdrücken" pro Eintrag. Die Abfrage kann sich nur
+ * in eine Richtung irren: "nicht drin" ist immer korrekt, "vielleicht drin"
+ * muss im exakten Set nachgeprüft werden. Für die allermeisten Tokens
+ * (nicht widerrufen) ist die Antwort damit nach ein paar Bit-Abfragen klar -
+ * ohne Hash-Map-Lookup und ohne Objekte zu erzeugen.
+ * </p>
+ * Die k Positionen werden aus zwei Hashes abgeleitet (h1 + i * h2,
+ * Kirsch/Mitzenmacher) - ein Hash-Durchlauf pro Abfrage reicht.
+ * <p>
+ * Einträge können nicht entfernt werden: beim Aufräumen wird ein
+ * neuer Filter gebaut (siehe TokenRevocationList).
+ * </p>
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedEntries Erwartete Anzahl Einträge
+     * @param falsePositiveRate Gewünschte Fehlerquote für "vielleicht drin" (z.B. 0.01)
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(1, expectedEntries);
+        // Optimale Grösse: m = -n * ln(p) / ln(2)^2, k = m / n * ln(2)
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(long hash) {
+        long h1 = hash;
+        long h2 = mix(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // getAndAccumulate statt get + set: parallele put()-Aufrufe verlieren keine Bits
+            words.getAndAccumulate(word, mask, (current, m) -> current | m);
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = mix(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * 64-Bit-Hash eines Strings (FNV-1a, danach durchmischt).
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * 64-Bit-Hash einer Zahl (z.B. User-ID). Eigener Startwert, damit sich
+     * User-IDs und Token-IDs im selben Filter nicht in die Quere kommen.
+     */
+    static long hash(long value) {
+        return mix(value ^ 0x9e3779b97f4a7c15L);
+    }
+
+    // Finalizer aus MurmurHash3 (fmix64): verteilt jedes Eingabe-Bit auf alle Ausgabe-Bits
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,238 @@
+package com.wiss.quizbackend.security;
+
+import com.wiss.quizbackend.exception.PasswordHashingOverloadedException;
+import com.wiss.quizbackend.profiling.PasswordHashingEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PasswordEncoder mit Zutrittskontrolle.
+ * <p>
+ * BCrypt ist absichtlich langsam (viel CPU pro Hash). Laufen 200 Logins gleichzeitig
+ * auf den Tomcat-Threads, ist die CPU voll und auch einfache Quiz-Requests warten.
+ * </p>
+ * <p>
+ * Deshalb läuft das Hashen auf einem eigenen Pool:
+ * - so viele Threads wie CPU-Kerne (mehr bringt bei reiner CPU-Arbeit nichts)
+ * - eine begrenzte Warteschlange
+ * - ist die Warteschlange voll, wird SOFORT abgelehnt
+ *   (PasswordHashingOverloadedException → 503 + Retry-After)
+ * </p>
+ * Analogie: Ein Schalter mit Nummernautomat - sind alle Nummern vergeben,
+ * heisst es "bitte später wiederkommen" statt die ganze Halle zu verstopfen.
+ * <p>
+ * Metriken (MeterBinder): quiz.password.hashing (Timer), quiz.password.queue.wait (Timer),
+ * quiz.password.queue.depth, quiz.password.active, quiz.password.rejected.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    // Kennzahlen für Monitoring
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    // Gesetzt von bindTo() - null ohne Micrometer (z.B. in Unit-Tests)
+    private volatile Timer hashTimer;
+    private volatile Timer queueWaitTimer;
+
+    /**
+     * @param delegate Der eigentliche Encoder (z.B. BCrypt)
+     * @param threads Anzahl Hash-Threads (typisch: Anzahl CPU-Kerne)
+     * @param queueCapacity Maximale Anzahl wartender Hash-Aufträge
+     * @param retryAfterSeconds Empfehlung an den Client bei Überlast
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads,
+                                  int queueCapacity, long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Nur ein String-Vergleich, kein Hashen → direkt ausführen
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Führt einen Hash-Auftrag auf dem Pool aus und wartet auf das Resultat.
+     * Jeder Hash wird als JFR-Event (PasswordHashingEvent) gemeldet.
+     *
+     * @param operation "encode" oder "matches" (für das JFR-Event)
+     * @throws PasswordHashingOverloadedException wenn die Warteschlange voll ist
+     */
+    private <T> T submit(String operation, Callable<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                recordQueueWait(startedAt - enqueuedAt);
+                PasswordHashingEvent event = new PasswordHashingEvent();
+                event.begin();
+                T result = null;
+                try {
+                    result = hashing.call();
+                    return result;
+                } finally {
+                    recordHash(System.nanoTime() - startedAt);
+                    if (event.shouldCommit()) {
+                        event.operation = operation;
+                        event.matched = Boolean.TRUE.equals(result);
+                        event.queueWait = startedAt - enqueuedAt;
+                        event.commit();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingOverloadedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void recordHash(long nanos) {
+        completed.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+        Timer timer = hashTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordQueueWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        Timer timer = queueWaitTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        hashTimer = Timer.builder("quiz.password.hashing")
+                .description("Reine Hash-Dauer (BCrypt) pro encode/matches")
+                .register(registry);
+        queueWaitTimer = Timer.builder("quiz.password.queue.wait")
+                .description("Wartezeit in der Warteschlange vor dem Hashen")
+                .register(registry);
+        Gauge.builder("quiz.password.queue.depth", this, BoundedPasswordEncoder::getQueueDepth)
+                .description("Wartende Hash-Aufträge")
+                .register(registry);
+        Gauge.builder("quiz.password.active", this, BoundedPasswordEncoder::getActiveCount)
+                .description("Threads, die gerade hashen")
+                .register(registry);
+        FunctionCounter.builder("quiz.password.rejected", this, BoundedPasswordEncoder::getRejectedCount)
+                .description("Wegen voller Warteschlange abgelehnte Aufträge (503)")
+                .register(registry);
+    }
+
+    // ==================== Kennzahlen ====================
+
+    /** @return Anzahl Aufträge in der Warteschlange (noch nicht gestartet) */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /** @return Anzahl Threads, die gerade hashen */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** @return Durchschnittliche reine Hash-Dauer in Millisekunden */
+    public double getAverageHashMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0.0 : totalHashNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /** @return Längste Hash-Dauer in Millisekunden */
+    public double getMaxHashMillis() {
+        return maxHashNanos.get() / 1_000_000.0;
+    }
+
+    /** @return Durchschnittliche Wartezeit in der Warteschlange in Millisekunden */
+    public double getAverageQueueWaitMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * Wird von Spring beim Herunterfahren aufgerufen (@Bean destroy-Methode "close").
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
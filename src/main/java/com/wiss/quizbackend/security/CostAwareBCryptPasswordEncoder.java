@@ -0,0 +1,57 @@
+package com.wiss.quizbackend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCryptPasswordEncoder, der auch deutlich zu teure Hashes neu hashen will.
+ * <p>
+ * Der Standard-Encoder meldet upgradeEncoding() nur, wenn die gespeicherte
+ * Stärke KLEINER ist. Wir wollen auch zu teure Hashes (z.B. alte Stärke 13
+ * auf einer langsamen VM mit Stärke 11) beim nächsten Login auf die aktuelle Stärke bringen.
+ * </p>
+ * <p>
+ * Nach unten erst ab {@link #DOWNGRADE_TOLERANCE} + 1 Stufen: Zwei Instanzen (oder zwei
+ * Neustarts), die beim Kalibrieren 11 und 12 messen, würden sich sonst denselben User
+ * bei jedem Login gegenseitig hin und her hashen. Mit Toleranz bringt die 12er-Instanz
+ * den Hash einmal auf 12, die 11er-Instanz lässt ihn dann in Ruhe.
+ * Bei grösseren Unterschieden hilft nur eine feste Stärke für alle Instanzen
+ * (quiz.password-hashing.bcrypt.cost, siehe application-prod.properties).
+ * </p>
+ * Analogie: Ein Thermostat mit Schaltdifferenz - sonst schaltet die Heizung im Sekundentakt.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // $2a$12$... → Gruppe 1 = Stärke
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    // So viele Stufen darf ein gespeicherter Hash teurer sein, ohne neu gehasht zu werden
+    static final int DOWNGRADE_TOLERANCE = 1;
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find()) {
+            // Kein BCrypt-Hash → unbedingt neu hashen
+            return true;
+        }
+        int storedCost = Integer.parseInt(matcher.group(1));
+        return storedCost < strength || storedCost > strength + DOWNGRADE_TOLERANCE;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+}
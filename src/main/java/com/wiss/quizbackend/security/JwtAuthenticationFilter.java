@@ -1,10 +1,15 @@
 package com.wiss.quizbackend.security;
 
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.profiling.JwtVerificationEvent;
 import com.wiss.quizbackend.service.JwtService;
+import com.wiss.quizbackend.timing.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,14 +19,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter - Das "Ausweis-Lesegerät" unserer Applikation
  * <p>
  * Dieser Filter wird bei JEDEM Request ausgeführt und macht folgendes:
  * 1. Schaut, ob ein JWT Token im Authorization Header ist
- * 2. Validiert den Token (Signatur, Ablaufdatum)
- * 3. Lädt den User aus der Datenbank
+ * 2. Validiert den Token EINMAL (Signatur, Ablaufdatum) und liest alle Claims -
+ *    bereits geprüfte Tokens kommen direkt aus dem VerifiedTokenCache
+ *    Danach: widerrufen? (TokenRevocationList, im Speicher - auch bei Cache-Treffern)
+ * 3. Baut den User aus den Claims (id, username, role) - ohne Datenbank.
+ *    Nur bei älteren Tokens ohne "uid" Claim wird der User aus der DB geladen.
  * 4. Setzt den User in den SecurityContext (Spring weiss jetzt: User ist eingeloggt!)
  * </p>
  * Analogie: Das Ausweis-Lesegerät am Aufzug
@@ -34,17 +43,30 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final UserDetailsService userDetailsService;
+    private final boolean statelessPrincipal;
 
     /**
      * Constructor Injection - Spring gibt uns automatisch:
      * - JwtService (zum Token validieren)
-     * - UserDetailsService (zum User laden)
+     * - VerifiedTokenCache (bereits geprüfte Tokens)
+     * - TokenRevocationList (widerrufene Tokens, Logout/Sperre)
+     * - UserDetailsService (zum User laden, nur noch als Fallback)
+     * - quiz.security.stateless-principal (false = immer aus der DB laden)
      */
     public JwtAuthenticationFilter(JwtService jwtService,
-                                   UserDetailsService userDetailsService) {
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationList tokenRevocationList,
+                                   UserDetailsService userDetailsService,
+                                   @Value("${quiz.security.stateless-principal:true}")
+                                   boolean statelessPrincipal) {
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
         this.userDetailsService = userDetailsService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     /**
@@ -73,58 +95,100 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Zeitmessung "auth" für den Server-Timing Header (0 = Messung aus)
+        long timingStart = RequestTimings.start();
+
         // SCHRITT 3: Token aus dem Header extrahieren
         // "Bearer eyJhbGc..." → "eyJhbGc..." (ohne "Bearer ")
         final String jwt = authHeader.substring(7);
 
-        // SCHRITT 4: Username aus dem Token extrahieren
-        // Der Token enthält im Payload: { "sub": "testuser", ... }
-        final String username = jwtService.extractUsername(jwt);
+        // SCHRITT 4: Token EINMAL verifizieren (Signatur + Ablaufdatum prüfen)
+        // Der Token enthält im Payload: { "sub": "testuser", "uid": 1, "role": "PLAYER", ... }
+        // Ungültige oder abgelaufene Tokens → leeres Optional → User bleibt anonym
+        // Schon gesehen? → Resultat aus dem Cache, keine erneute Prüfung
+        JwtVerificationEvent verificationEvent = new JwtVerificationEvent();
+        verificationEvent.begin();
+        Optional<VerifiedToken> verified = verifiedTokenCache.lookup(jwt);
+        boolean cacheHit = verified.isPresent();
+        if (verified.isEmpty()) {
+            verified = jwtService.verify(jwt);
+            verified.ifPresent(token -> verifiedTokenCache.put(jwt, token));
+        }
 
-        // SCHRITT 5: Prüfen ob User existiert UND
-        // noch nicht authentifiziert ist
+        // SCHRITT 4b: Widerrufen? (Logout oder gesperrter User)
+        // Gilt auch für Tokens aus dem Cache - der Cache kennt keine Widerrufe
+        // Widerrufen → wie ein ungültiger Token behandeln → User bleibt anonym
+        boolean revoked = verified.isPresent() && tokenRevocationList.isRevoked(verified.get());
+        if (verificationEvent.shouldCommit()) {
+            verificationEvent.cacheHit = cacheHit;
+            verificationEvent.valid = verified.isPresent();
+            verificationEvent.revoked = revoked;
+            verificationEvent.commit();
+        }
+        if (revoked) {
+            verified = Optional.empty();
+        }
+
+        // SCHRITT 5: Prüfen ob Token gültig ist UND
+        // User noch nicht authentifiziert ist
         // SecurityContextHolder.getContext()
         //     .getAuthentication() == null bedeutet:
         // "Dieser User ist noch nicht eingeloggt in diesem Request"
-        if (username != null && SecurityContextHolder
-                .getContext()
-                .getAuthentication() == null) {
-
-            // SCHRITT 6: User-Details aus Datenbank laden
-            // UserDetailsService ruft AppUserRepository.findByUsername() auf
-            UserDetails userDetails = userDetailsService
-                    .loadUserByUsername(username);
-
-            // SCHRITT 7: Token validieren (Signatur + Ablaufdatum prüfen)
-            if (jwtService.validateToken(jwt, username)) {
-
-                // SCHRITT 8: Authentication Object erstellen
-                // Das ist wie ein "interner Ausweis" für Spring Security
-                // Sagt: "Dieser User ist authentifiziert und hat diese Rollen"
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,   // Principal (der User)
-                                null,          // Credentials (brauchen wir nicht mehr)
-                                userDetails.getAuthorities()
-                                // Rollen (ROLE_ADMIN, ROLE_PLAYER)
-                        );
-
-                // SCHRITT 9: Request-Details hinzufügen
-                //            (IP-Adresse, Session-ID, etc.)
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                // SCHRITT 10: User in SecurityContext setzen
-                // Ab jetzt weiss Spring Security: "Dieser User ist eingeloggt!"
-                // Alle weiteren Checks (@PreAuthorize, .authenticated())
-                // funktionieren jetzt!
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (verified.isPresent() && verified.get().subject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            // SCHRITT 6: User-Details aus den Claims bauen (oder aus der DB laden)
+            UserDetails userDetails = resolvePrincipal(verified.get());
+
+            // SCHRITT 7: Authentication Object erstellen
+            // Das ist wie ein "interner Ausweis" für Spring Security
+            // Sagt: "Dieser User ist authentifiziert und hat diese Rollen"
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,   // Principal (der User)
+                            null,          // Credentials (brauchen wir nicht mehr)
+                            userDetails.getAuthorities()
+                            // Rollen (ROLE_ADMIN, ROLE_PLAYER)
+                    );
+
+            // SCHRITT 8: Request-Details hinzufügen
+            //            (IP-Adresse, Session-ID, etc.)
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+
+            // SCHRITT 9: User in SecurityContext setzen
+            // Ab jetzt weiss Spring Security: "Dieser User ist eingeloggt!"
+            // Alle weiteren Checks (@PreAuthorize, .authenticated())
+            // funktionieren jetzt!
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
-        // SCHRITT 11: Weiter zum nächsten Filter in der Chain
+        RequestTimings.record("auth", timingStart);
+
+        // SCHRITT 10: Weiter zum nächsten Filter in der Chain
         // der Request geht jetzt weiter zu SecurityConfig, dann zum Controller
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Baut den Principal für den SecurityContext.
+     * <p>
+     * Stateless-Modus: id, username und role kommen aus dem signierten Token,
+     * es braucht keinen SELECT auf app_users. Controller mit
+     * {@code @AuthenticationPrincipal AppUser} bekommen trotzdem einen AppUser.
+     * Tokens ohne "uid" (ausgestellt vor dieser Version) laden den User wie bisher aus der DB.
+     * </p>
+     *
+     * @param token Der bereits verifizierte Token
+     * @return Der Principal
+     */
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (statelessPrincipal && token.userId() != null && token.role() != null) {
+            return AppUser.fromTokenClaims(token.userId(), token.subject(), Role.valueOf(token.role()));
+        }
+
+        // UserDetailsService ruft AppUserRepository.findByUsername() auf
+        return userDetailsService.loadUserByUsername(token.subject());
+    }
+}
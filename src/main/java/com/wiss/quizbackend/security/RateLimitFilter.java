@@ -0,0 +1,159 @@
+package com.wiss.quizbackend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.ErrorResponseDTO;
+import com.wiss.quizbackend.entity.AppUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limiting Filter - Der "Türsteher" vor den teuren Endpoints
+ * <p>
+ * Login und Registrierung kosten pro Request einen BCrypt-Hash, ein Game-Start
+ * einen INSERT. Ohne Grenze kann ein einzelner Client (z.B. beim Credential Stuffing)
+ * die CPU mit Hashes fluten und echte Spieler verdrängen.
+ * </p>
+ * Gruppen (Limits einzeln konfigurierbar, siehe application.properties):
+ * <ul>
+ *     <li>auth: POST /api/auth/login und /register - pro Client-IP (der User ist ja noch nicht eingeloggt)</li>
+ *     <li>game-start: POST /api/game/start - pro eingeloggtem User (Fallback: IP)</li>
+ * </ul>
+ * Über dem Limit: 429 Too Many Requests + Retry-After Header, der Request
+ * erreicht den Controller gar nicht erst.
+ * <p>
+ * Läuft NACH dem JwtAuthenticationFilter (siehe SecurityConfig), damit der
+ * eingeloggte User bereits im SecurityContext steht.
+ * Die Client-IP ist request.getRemoteAddr() - hinter einem Reverse Proxy
+ * muss server.forward-headers-strategy gesetzt sein, sonst teilen sich alle
+ * Clients die IP des Proxys.
+ * </p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // Nur die Endpoints mit BCrypt - /refresh und /logout sind billig
+    private static final Set<String> AUTH_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+    private static final String GAME_START_PATH = "/api/game/start";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final RateLimiter authLimiter;
+    private final RateLimiter gameStartLimiter;
+
+    /**
+     * Constructor Injection - Limits pro Gruppe aus den Properties.
+     * limit = Requests pro Periode, burst = so viele dürfen direkt hintereinander kommen.
+     */
+    @Autowired
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${quiz.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${quiz.rate-limit.auth.limit:10}") int authLimit,
+                           @Value("${quiz.rate-limit.auth.period:1m}") Duration authPeriod,
+                           @Value("${quiz.rate-limit.auth.burst:5}") int authBurst,
+                           @Value("${quiz.rate-limit.game-start.limit:30}") int gameStartLimit,
+                           @Value("${quiz.rate-limit.game-start.period:1m}") Duration gameStartPeriod,
+                           @Value("${quiz.rate-limit.game-start.burst:10}") int gameStartBurst) {
+        this(objectMapper, enabled,
+                new RateLimiter(authLimit, authPeriod, authBurst, System::nanoTime),
+                new RateLimiter(gameStartLimit, gameStartPeriod, gameStartBurst, System::nanoTime));
+    }
+
+    /**
+     * Für Tests: Limiter mit eigener Zeitquelle.
+     */
+    RateLimitFilter(ObjectMapper objectMapper, boolean enabled,
+                    RateLimiter authLimiter, RateLimiter gameStartLimiter) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.authLimiter = authLimiter;
+        this.gameStartLimiter = gameStartLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = 0;
+        if (enabled && "POST".equals(request.getMethod())) {
+            String path = request.getRequestURI();
+            if (AUTH_PATHS.contains(path)) {
+                waitNanos = authLimiter.tryAcquire(request.getRemoteAddr());
+            } else if (path.equals(GAME_START_PATH)) {
+                waitNanos = gameStartLimiter.tryAcquire(clientKey(request));
+            }
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Eingeloggte User werden über ihre ID gezählt - so teilen sich
+     * Spieler hinter demselben Schul-WLAN nicht ein Limit.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AppUser user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        long waitNanos) throws IOException {
+        // Aufrunden: lieber eine Sekunde zu lange warten als sofort wieder 429
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "TOO_MANY_REQUESTS",
+                "Zu viele Anfragen, bitte in " + retryAfterSeconds + " Sekunden erneut versuchen",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Räumt regelmässig Einträge auf, deren Bucket wieder voll ist.
+     * Ohne Aufräumen würde jede jemals gesehene IP im Speicher bleiben.
+     */
+    @Scheduled(fixedDelayString = "${quiz.rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        int evicted = authLimiter.evictIdle() + gameStartLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Rate limiter: {} idle buckets evicted", evicted);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.wiss.quizbackend.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-Bucket pro Schlüssel (Client-IP oder User-ID), komplett im Speicher.
+ * <p>
+ * Umgesetzt als GCRA ("Generic Cell Rate Algorithm"): Statt Tokens zu zählen und
+ * regelmässig nachzufüllen, merken wir uns pro Schlüssel nur EINE Zahl - den
+ * Zeitpunkt, ab dem der Bucket wieder ganz voll wäre ("theoretical arrival time").
+ * Jeder erlaubte Request schiebt diesen Zeitpunkt um ein Intervall (period / limit)
+ * nach hinten. Liegt er mehr als (burst - 1) Intervalle in der Zukunft, ist der
+ * Bucket leer.
+ * </p>
+ * <ul>
+ *     <li>Ein AtomicLong pro Schlüssel, Update per compareAndSet - keine Locks</li>
+ *     <li>Die ConcurrentHashMap ist intern in Buckets aufgeteilt (gestriped),
+ *         Threads mit verschiedenen Schlüsseln kommen sich nicht in die Quere</li>
+ *     <li>Ein Eintrag, dessen Zeitpunkt vorbei ist, entspricht einem vollen Bucket
+ *         und kann entfernt werden (evictIdle)</li>
+ * </ul>
+ * <p>
+ * Aufräumen parallel zu tryAcquire: evictIdle() markiert den Eintrag zuerst per
+ * compareAndSet als EVICTED und entfernt ihn erst dann aus der Map. Genau einer gewinnt:
+ * Entweder der Request hat seinen Token schon gebucht (dann bleibt der Eintrag), oder er sieht
+ * die Markierung und holt sich einen neuen Eintrag - ein gebuchter Token geht nie verloren.
+ * </p>
+ * Analogie: Die Drehtür im Stadion. Sie lässt eine Gruppe (burst) schnell durch,
+ * danach nur noch eine Person pro Takt.
+ */
+public class RateLimiter {
+
+    // Markierung für einen Eintrag, den evictIdle() gerade entfernt
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param limit Anzahl Requests pro Periode (Nachfüll-Rate)
+     * @param period Länge der Periode
+     * @param burst Maximale Anzahl Requests direkt hintereinander (Bucket-Grösse)
+     * @param nanoClock Zeitquelle in Nanosekunden (System::nanoTime, in Tests fix)
+     */
+    public RateLimiter(int limit, Duration period, int burst, LongSupplier nanoClock) {
+        if (limit < 1 || burst < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs limit >= 1, burst >= 1 and a positive period");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / limit);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Versucht, einen Token aus dem Bucket des Schlüssels zu nehmen.
+     *
+     * @param key Client-IP oder User-ID
+     * @return 0 wenn der Request erlaubt ist, sonst die Wartezeit in Nanosekunden
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = bucket(key, now);
+
+        while (true) {
+            long current = arrival.get();
+            if (current == EVICTED) {
+                // Wurde gerade aufgeräumt → neuen (vollen) Eintrag holen
+                arrival = bucket(key, now);
+                continue;
+            }
+            long base = Math.max(current, now);
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;  // Bucket leer - nichts schreiben
+            }
+            if (arrival.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+            // Ein anderer Thread war schneller → mit dem neuen Wert nochmals rechnen
+        }
+    }
+
+    /**
+     * Entfernt alle Einträge, deren Bucket wieder voll ist.
+     * Ein fehlender Eintrag verhält sich genau gleich wie ein voller Bucket.
+     * <p>
+     * Pro Schlüssel atomar (computeIfPresent) - siehe Klassenkommentar.
+     * </p>
+     *
+     * @return Anzahl entfernter Einträge
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (String key : buckets.keySet()) {
+            boolean[] removed = {false};
+            buckets.computeIfPresent(key, (k, arrival) -> {
+                long current = arrival.get();
+                removed[0] = current - now <= 0 && arrival.compareAndSet(current, EVICTED);
+                return removed[0] ? null : arrival;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        return arrival;
+    }
+
+    /**
+     * @return Anzahl aktuell verfolgter Schlüssel
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
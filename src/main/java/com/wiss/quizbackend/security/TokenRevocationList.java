@@ -0,0 +1,146 @@
+package com.wiss.quizbackend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Widerrufene JWTs im Speicher - wird vom JwtAuthenticationFilter bei JEDEM Request gefragt.
+ * <p>
+ * Zwei Arten von Widerruf:
+ * - einzelner Token (Logout): über seine "jti"
+ * - alle Tokens eines Users (Sperre, "überall abmelden"): jeder Token,
+ *   der bis zum Zeitpunkt "revokedBefore" ausgestellt wurde
+ * </p>
+ * Ablauf einer Abfrage:
+ * 1. Bloom-Filter: "sicher nicht widerrufen" → fertig (der Normalfall, ein paar Bit-Abfragen)
+ * 2. Nur bei "vielleicht": exakte Prüfung in der ConcurrentHashMap
+ * <p>
+ * Die Datenbank wird hier NIE gefragt. Laden beim Start und Speichern
+ * übernimmt der TokenRevocationService.
+ * Schreiben (selten) ist synchronisiert, Lesen (jeder Request) kommt ohne Lock aus.
+ * </p>
+ * Analogie: Die Liste gesperrter Ausweise beim Portier - zuerst ein schneller
+ * Blick auf die Farbmarkierungen, nur bei einem Treffer wird die Liste Zeile für Zeile gelesen.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // jti → Ablauf des Tokens (danach ist der Eintrag überflüssig)
+    private final Map<String, Instant> revokedTokenIds = new ConcurrentHashMap<>();
+    // userId → alle Tokens mit iat <= revokedBefore sind ungültig
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationList(
+            @Value("${quiz.security.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${quiz.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Prüft, ob ein (gültig signierter) Token widerrufen wurde.
+     *
+     * @param token Der verifizierte Token
+     * @return true wenn der Token nicht mehr akzeptiert werden darf
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        BloomFilter filter = bloomFilter;
+
+        String jti = token.jti();
+        if (jti != null && filter.mightContain(BloomFilter.hash(jti))
+                && revokedTokenIds.containsKey(jti)) {
+            return true;
+        }
+
+        Long userId = token.userId();
+        if (userId != null && filter.mightContain(BloomFilter.hash(userId))) {
+            Instant before = revokedBefore.get(userId);
+            // iat ist sekundengenau: Tokens aus derselben Sekunde gelten ebenfalls als widerrufen
+            return before != null && (token.issuedAt() == null || !token.issuedAt().isAfter(before));
+        }
+        return false;
+    }
+
+    /**
+     * Widerruft einen einzelnen Token.
+     *
+     * @param jti Die Token-ID
+     * @param expiresAt Ablauf des Tokens - danach kann der Eintrag weg
+     */
+    public synchronized void revokeToken(String jti, Instant expiresAt) {
+        revokedTokenIds.merge(jti, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+        bloomFilter.put(BloomFilter.hash(jti));
+    }
+
+    /**
+     * Widerruft alle Tokens eines Users, die bis zu diesem Zeitpunkt ausgestellt wurden.
+     *
+     * @param userId Die ID des Users
+     * @param issuedBefore Zeitpunkt (inklusive, sekundengenau)
+     */
+    public synchronized void revokeUser(Long userId, Instant issuedBefore) {
+        revokedBefore.merge(userId, issuedBefore, (a, b) -> a.isAfter(b) ? a : b);
+        bloomFilter.put(BloomFilter.hash(userId));
+    }
+
+    /**
+     * Entfernt Einträge, deren Tokens ohnehin abgelaufen sind, und baut den
+     * Bloom-Filter neu auf (aus einem Bloom-Filter kann man nichts löschen).
+     *
+     * @param now Aktueller Zeitpunkt
+     * @param maxTokenLifetime Längste Gültigkeit eines JWT (jwt.expiration)
+     * @return Anzahl entfernter Einträge
+     */
+    public synchronized int prune(Instant now, Duration maxTokenLifetime) {
+        int before = size();
+        revokedTokenIds.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        // Nach revokedBefore + Lebensdauer ist jeder betroffene Token abgelaufen
+        revokedBefore.values().removeIf(at -> !at.plus(maxTokenLifetime).isAfter(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size() * 2), falsePositiveRate);
+        revokedTokenIds.keySet().forEach(jti -> rebuilt.put(BloomFilter.hash(jti)));
+        revokedBefore.keySet().forEach(userId -> rebuilt.put(BloomFilter.hash(userId)));
+        bloomFilter = rebuilt;
+        return before - size();
+    }
+
+    /**
+     * Leert die Liste (vor dem Neuladen aus der Datenbank).
+     */
+    public synchronized void clear() {
+        revokedTokenIds.clear();
+        revokedBefore.clear();
+        bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public int revokedTokenCount() {
+        return revokedTokenIds.size();
+    }
+
+    public int revokedUserCount() {
+        return revokedBefore.size();
+    }
+
+    public long bloomFilterBits() {
+        return bloomFilter.bitCount();
+    }
+
+    public int bloomFilterHashFunctions() {
+        return bloomFilter.hashFunctions();
+    }
+
+    private int size() {
+        return revokedTokenIds.size() + revokedBefore.size();
+    }
+}
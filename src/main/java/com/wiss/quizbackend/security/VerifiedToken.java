@@ -0,0 +1,21 @@
+package com.wiss.quizbackend.security;
+
+import java.time.Instant;
+
+/**
+ * Ein bereits geprüfter JWT Token (Signatur + Ablaufdatum OK).
+ * <p>
+ * Unveränderlich: Nach JwtService.verify() liegen alle Claims hier bereit,
+ * der Token muss für denselben Request nicht nochmals geparst werden.
+ * </p>
+ *
+ * @param subject Der Username ("sub" Claim)
+ * @param userId Die User ID ("uid" Claim), null bei älteren Tokens
+ * @param role Die Rolle ("role" Claim)
+ * @param jti Eindeutige Token-ID ("jti" Claim) für den Widerruf, null bei älteren Tokens
+ * @param issuedAt Ausstellungszeitpunkt ("iat" Claim, sekundengenau)
+ * @param expiresAt Ablaufzeitpunkt ("exp" Claim)
+ */
+public record VerifiedToken(String subject, Long userId, String role,
+                            String jti, Instant issuedAt, Instant expiresAt) {
+}
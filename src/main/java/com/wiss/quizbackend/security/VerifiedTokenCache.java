@@ -0,0 +1,172 @@
+package com.wiss.quizbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Cache für bereits geprüfte JWT Tokens.
+ * <p>
+ * Das Frontend schickt denselben Token bei jedem Request mit. Statt ihn jedes Mal
+ * neu zu prüfen (HMAC + Base64 + JSON), merken wir uns das Resultat.
+ * </p>
+ * <p>
+ * Schlüssel ist das Signatur-Segment des Tokens (nach dem letzten Punkt):
+ * ein HMAC-SHA256 über Header + Payload, also bereits ein eindeutiger Fingerabdruck -
+ * ohne dass wir selbst etwas hashen müssen. Bei einem Treffer wird zusätzlich
+ * der komplette Token verglichen.
+ * </p>
+ * <ul>
+ *     <li>Einträge laufen genau beim "exp" des Tokens ab</li>
+ *     <li>Harte Speichergrenze über ein geschätztes Gewicht pro Eintrag (Bytes)</li>
+ *     <li>Es werden nur gültige Tokens gespeichert - ungültige kosten keinen Platz</li>
+ * </ul>
+ * Analogie: Der Portier kennt die Gesichter, die heute schon einmal
+ * ihren Ausweis gezeigt haben - bis der Ausweis abläuft.
+ * <p>
+ * Metriken: cache.gets/puts/evictions mit cache="verified-tokens" (MeterBinder,
+ * wird von Spring Boot automatisch an die Registry gebunden).
+ * </p>
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    /**
+     * Geschätzter Grundbedarf pro Eintrag in Bytes
+     * (Cache-Node, Schlüssel-String, CachedToken, VerifiedToken, Instant).
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Cache<String, CachedToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${quiz.security.token-cache.enabled:true}") boolean enabled,
+            @Value("${quiz.security.token-cache.max-bytes:8388608}") long maxBytes) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedToken value) -> value.weight())
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Sucht einen bereits geprüften Token.
+     *
+     * @param jwt Der Token aus dem Authorization Header
+     * @return Der geprüfte Token oder Optional.empty() (nicht im Cache / abgelaufen)
+     */
+    public Optional<VerifiedToken> lookup(String jwt) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CachedToken cached = cache.getIfPresent(cacheKey(jwt));
+        if (cached == null || !cached.jwt().equals(jwt)
+                || !cached.token().expiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.token());
+    }
+
+    /**
+     * Speichert einen gerade geprüften Token.
+     *
+     * @param jwt Der Token aus dem Authorization Header
+     * @param token Das Resultat von JwtService.verify()
+     */
+    public void put(String jwt, VerifiedToken token) {
+        if (enabled && token.expiresAt() != null) {
+            cache.put(cacheKey(jwt), new CachedToken(jwt, token));
+        }
+    }
+
+    /**
+     * @return Hit/Miss/Eviction-Statistik seit dem Start
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return Geschätzte Anzahl Einträge
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return Aktuell belegtes Gewicht (geschätzte Bytes)
+     */
+    public long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * @return Konfigurierte Obergrenze in Bytes
+     */
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified-tokens");
+    }
+
+    /**
+     * Der Schlüssel ist die Signatur (letztes Segment "header.payload.signature").
+     */
+    private static String cacheKey(String jwt) {
+        int lastDot = jwt.lastIndexOf('.');
+        return lastDot >= 0 ? jwt.substring(lastDot + 1) : jwt;
+    }
+
+    /**
+     * Ein Cache-Eintrag: der vollständige Token (für den Vergleich) und das Resultat.
+     */
+    private record CachedToken(String jwt, VerifiedToken token) {
+
+        int weight() {
+            int subjectLength = token.subject() == null ? 0 : token.subject().length();
+            return ENTRY_OVERHEAD_BYTES + jwt.length() + subjectLength;
+        }
+    }
+
+    /**
+     * Jeder Eintrag lebt genau so lange wie der Token selbst.
+     */
+    private static class ExpireAtTokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.token().expiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
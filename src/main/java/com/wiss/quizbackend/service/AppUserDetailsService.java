@@ -1,6 +1,6 @@
 package com.wiss.quizbackend.service;
 
-import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.cache.AppUserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,14 +14,14 @@ import org.springframework.stereotype.Service;
 @Service
 public class AppUserDetailsService implements UserDetailsService {
 
-    private final AppUserRepository appUserRepository;
+    private final AppUserCache appUserCache;
 
-    public AppUserDetailsService(AppUserRepository appUserRepository){
-        this.appUserRepository = appUserRepository;
+    public AppUserDetailsService(AppUserCache appUserCache){
+        this.appUserCache = appUserCache;
     }
 
     /**
-     * Lädt einen User anhand des Usernames aus der Datenbank
+     * Lädt einen User anhand des Usernames (über den AppUserCache)
      *
      * @param username Der Username
      * @return UserDetails Object (AppUser implementiert UserDetails!)
@@ -31,7 +31,7 @@ public class AppUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException { // ← Methode heißt SO (Spring-Interface)
         // ABER: man könnte auch "username" als E-Mail interpretieren!
         // Kann etwas verwirrend sein, wegen der Namensgebung vom Spring-Interface
-        return appUserRepository.findByUsername(username) // ← dann würde hier die E-Mail überreicht werden
+        return appUserCache.findByUsername(username) // ← dann würde hier die E-Mail überreicht werden
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User nicht gefunden: " + username
                 ));
@@ -1,12 +1,18 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.cache.AppUserCache;
 import com.wiss.quizbackend.entity.AppUser;
 import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.exception.PasswordHashingOverloadedException;
 import com.wiss.quizbackend.repository.AppUserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -27,6 +33,7 @@ public class AppUserService {
 
     // Dependencies via Constructor Injection (Best Practice!)
     private final AppUserRepository userRepository;
+    private final AppUserCache userCache;
     private final PasswordEncoder passwordEncoder;
 
     /**
@@ -37,8 +44,10 @@ public class AppUserService {
      * - Immutable (final fields)
      */
     public AppUserService(AppUserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                          AppUserCache userCache,
+                          PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -46,29 +55,26 @@ public class AppUserService {
      * Registriert einen neuen User.
      * <p>
      * Business Logic:
-     * 1. Validierung (Username/Email unique?)
-     * 2. Password hashen
-     * 3. User speichern
+     * 1. Password hashen
+     * 2. User speichern - EIN INSERT, die Datenbank prüft die Eindeutigkeit
+     * 3. Verletzter Unique-Constraint → bisherige Fehlermeldung
      * 4. Gespeicherten User zurückgeben (mit ID!)
      * </p>
+     * <p>
+     * Früher: existsByUsername + existsByEmail + INSERT = drei Roundtrips,
+     * und zwei gleichzeitige Registrierungen konnten beide durch die Prüfung kommen.
+     * Jetzt entscheidet der Unique-Index - atomar, auch unter Last.
+     * </p>
+     * <p>
+     * NOT_SUPPORTED: Während BCrypt rechnet (oder in der Warteschlange des
+     * BoundedPasswordEncoder wartet), soll keine DB-Verbindung belegt sein.
+     * saveAndFlush läuft in seiner eigenen kurzen Transaktion.
+     * </p>
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AppUser registerUser(String username, String email,
                                 String rawPassword, Role role) {
 
-        // Validierung: Username bereits vergeben?
-        if (userRepository.existsByUsername(username)) {
-            throw new IllegalArgumentException(
-                    "Username '" + username + "' ist bereits vergeben"
-            );
-        }
-
-        // Validierung: E-Mail bereits registriert?
-        if (userRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException(
-                    "Email '" + email + "' ist bereits registriert"
-            );
-        }
-
         // Passwort hashen (NIE raw password speichern!)
         String hashedPassword = passwordEncoder.encode(rawPassword);
 
@@ -76,48 +82,141 @@ public class AppUserService {
         AppUser newUser = new AppUser(username, email, hashedPassword, role);
 
         // Speichern und zurückgeben
-        // save() gibt den gespeicherten User MIT ID zurück
-        return userRepository.save(newUser);
+        // saveAndFlush() schickt den INSERT sofort → Constraint-Verletzung kommt HIER
+        try {
+            return userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicate(e, username, email);
+        }
     }
 
     /**
-     * Findet User by Username (für Login später)
+     * Übersetzt eine Unique-Constraint-Verletzung in die bekannte Fehlermeldung.
+     * <p>
+     * Erkennung über den Constraint-Namen (siehe @Table in AppUser).
+     * H2 und PostgreSQL melden den Namen unterschiedlich (Gross-/Kleinschreibung,
+     * mit Index-Suffix) - deshalb "enthält" statt "ist gleich".
+     * </p>
+     */
+    private RuntimeException translateDuplicate(DataIntegrityViolationException e,
+                                                String username, String email) {
+        String violated = violatedConstraint(e);
+
+        if (violated.contains("uk_app_users_username")) {
+            return new IllegalArgumentException(
+                    "Username '" + username + "' ist bereits vergeben"
+            );
+        }
+        if (violated.contains("uk_app_users_email")) {
+            return new IllegalArgumentException(
+                    "Email '" + email + "' ist bereits registriert"
+            );
+        }
+        return e;  // Anderer Fehler (z.B. NOT NULL) → unverändert weiterwerfen
+    }
+
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return cve.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message == null ? "" : message.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Findet User by Username (für Login später) - über den AppUserCache
      *
      * @param username Der Name des Benutzers
      * @return Optional mit User oder empty
      */
     public Optional<AppUser> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.findByUsername(username);
     }
 
     /**
      * Findet einen User by E-Mail.
-     * Wird benötigt für Login mit E-Mail.
+     * Wird benötigt für Login mit E-Mail - über den AppUserCache.
      *
      * @param email Die E-Mail
      * @return Optional mit User oder empty
      */
-    public Optional<AppUser> findByEmail(String email) { return userRepository.findByEmail(email); }
+    public Optional<AppUser> findByEmail(String email) { return userCache.findByEmail(email); }
+
+    /**
+     * Findet einen User per Username oder E-Mail (Login-Feld).
+     * Genau eine Abfrage - oder gar keine, wenn der User im Cache ist.
+     *
+     * @param usernameOrEmail Username oder E-Mail
+     * @return Optional mit User oder empty
+     */
+    public Optional<AppUser> findByLogin(String usernameOrEmail) {
+        return userCache.findByLogin(usernameOrEmail);
+    }
 
     /**
      * Authentifiziert User (Vorbereitung für Login)
      *
+     * NOT_SUPPORTED: keine DB-Verbindung während des Passwort-Vergleichs belegen.
+     *
      * @return Optional.empty() wenn Login fehlschlägt
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<AppUser> authenticateUser(String username, String rawPassword) {
         // User suchen
-        Optional<AppUser> userOpt = userRepository.findByUsername(username);
+        return userCache.findByUsername(username)
+                .filter(user -> verifyPassword(user, rawPassword));
+    }
 
-        if (userOpt.isPresent()) {
-            AppUser user = userOpt.get();
+    /**
+     * Login mit Username ODER E-Mail: ein Lookup, dann direkt der Passwort-Vergleich.
+     *
+     * @param usernameOrEmail Username oder E-Mail aus dem Login-Formular
+     * @param rawPassword Das eingegebene Passwort
+     * @return Optional.empty() wenn User unbekannt oder Passwort falsch
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<AppUser> authenticateLogin(String usernameOrEmail, String rawPassword) {
+        return findByLogin(usernameOrEmail)
+                .filter(user -> verifyPassword(user, rawPassword));
+    }
 
-            // Passwort prüfen (BCrypt macht das intern mit Salt)
-            if (passwordEncoder.matches(rawPassword, user.getPassword())) {
-                return userOpt;  // Login erfolgreich
-            }
+    /**
+     * Prüft das Passwort eines bereits geladenen Users - ohne ihn erneut zu laden.
+     *
+     * @param user Der geladene User
+     * @param rawPassword Das eingegebene Passwort
+     * @return true wenn das Passwort stimmt
+     */
+    public boolean verifyPassword(AppUser user, String rawPassword) {
+        // Passwort prüfen (BCrypt macht das intern mit Salt)
+        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+            return false;  // Login fehlgeschlagen
         }
+        rehashIfNeeded(user, rawPassword);
+        return true;  // Login erfolgreich
+    }
 
-        return Optional.empty();  // Login fehlgeschlagen
+    /**
+     * Bringt den gespeicherten Hash auf die aktuelle BCrypt-Stärke.
+     * <p>
+     * Nur beim Login möglich - nur dann kennen wir das Klartext-Passwort.
+     * So kann die Stärke angepasst werden, ohne dass jemand sein Passwort
+     * zurücksetzen muss. Ist der Hash-Pool gerade voll, wird es beim
+     * nächsten Login erneut versucht - der Login selbst klappt trotzdem.
+     * </p>
+     */
+    private void rehashIfNeeded(AppUser user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (PasswordHashingOverloadedException e) {
+            // Später nochmals versuchen
+        }
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Geplanter Job, der alte GameSessions archiviert.
+ * <p>
+ * Läuft Monat für Monat (älteste zuerst), damit eine einzelne Transaktion
+ * nie die ganze Historie auf einmal sperrt. Jeder Monat ist ein eigener
+ * Aufruf von GameSessionArchiveService (eigene Transaktion).
+ * </p>
+ * Konfiguration:
+ * - quiz.archive.cron: Zeitplan des Jobs (Default 03:30 Uhr, "-" deaktiviert den Job)
+ */
+@Component
+public class GameSessionArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSessionArchiveJob.class);
+
+    private final GameSessionArchiveService archiveService;
+    private final GameSessionRepository gameSessionRepository;
+
+    public GameSessionArchiveJob(GameSessionArchiveService archiveService,
+                                 GameSessionRepository gameSessionRepository) {
+        this.archiveService = archiveService;
+        this.gameSessionRepository = gameSessionRepository;
+    }
+
+    @Scheduled(cron = "${quiz.archive.cron:0 30 3 * * *}")
+    public void archiveOldSessions() {
+        LocalDateTime cutoff = archiveService.currentCutoff();
+
+        long archived = 0;
+        LocalDateTime oldest = gameSessionRepository.findOldestPlayedAt();
+        while (oldest != null && oldest.isBefore(cutoff)) {
+            // Anfang des Folgemonats der ältesten Session, höchstens bis zum Stichtag
+            LocalDateTime chunkEnd = oldest.toLocalDate()
+                    .withDayOfMonth(1)
+                    .plusMonths(1)
+                    .atStartOfDay();
+            if (chunkEnd.isAfter(cutoff)) {
+                chunkEnd = cutoff;
+            }
+
+            archived += archiveService.archiveSessionsPlayedBefore(chunkEnd);
+            oldest = gameSessionRepository.findOldestPlayedAt();
+        }
+
+        if (archived > 0) {
+            log.info("Archiv-Job: {} GameSessions vor {} archiviert", archived, cutoff);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.GameSessionRollup;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import com.wiss.quizbackend.repository.GameSessionRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Archiviert alte GameSessions.
+ * <p>
+ * Ablauf pro Durchlauf (ein Monat pro Transaktion):
+ * 1. Sessions vor dem Stichtag pro User/Kategorie/Monat zusammenfassen
+ * 2. Zusammenfassung in die Rollup-Tabelle addieren
+ * 3. Rohdaten in die kalte Tabelle "game_sessions_archive" kopieren
+ * 4. Rohdaten aus der heissen Tabelle "game_sessions" löschen
+ * </p>
+ * Das Leaderboard liest Sessions + Rollups zusammen (siehe LeaderboardRepository),
+ * die Resultate bleiben also gleich - nur die heisse Tabelle bleibt klein.
+ * <p>
+ * Konfiguration:
+ * - quiz.archive.max-age-days: Sessions älter als X Tage werden archiviert
+ * </p>
+ * Der Zeitplan liegt in GameSessionArchiveJob.
+ */
+@Service
+public class GameSessionArchiveService {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameSessionRollupRepository rollupRepository;
+    private final int maxAgeDays;
+
+    public GameSessionArchiveService(GameSessionRepository gameSessionRepository,
+                                     GameSessionRollupRepository rollupRepository,
+                                     @Value("${quiz.archive.max-age-days:180}") int maxAgeDays) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.rollupRepository = rollupRepository;
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    /**
+     * Stichtag für die Archivierung: alles davor wird archiviert.
+     *
+     * @return jetzt minus max-age-days
+     */
+    public LocalDateTime currentCutoff() {
+        return LocalDateTime.now().minusDays(maxAgeDays);
+    }
+
+    /**
+     * Faltet alle Sessions vor dem Stichtag in die Rollups und verschiebt
+     * die Rohdaten in die Archiv-Tabelle - alles in EINER Transaktion.
+     *
+     * @param cutoff Stichtag (exklusiv)
+     * @return Anzahl archivierter Sessions
+     */
+    @Transactional
+    public int archiveSessionsPlayedBefore(LocalDateTime cutoff) {
+        // Schritt 1+2: Zusammenfassen und in die Rollups addieren
+        List<Object[]> summaries = gameSessionRepository.summarizeSessionsPlayedBefore(cutoff);
+
+        for (Object[] row : summaries) {
+            Long userId = ((Number) row[0]).longValue();
+            String category = (String) row[1];
+            LocalDate periodStart = LocalDate.of(
+                    ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(),
+                    1);
+            long gamesPlayed = ((Number) row[4]).longValue();
+            long totalScore = ((Number) row[5]).longValue();
+
+            GameSessionRollup rollup = rollupRepository
+                    .findByUserIdAndCategoryAndPeriodStart(userId, category, periodStart)
+                    .orElseGet(() -> new GameSessionRollup(userId, category, periodStart));
+            rollup.add(gamesPlayed, totalScore);
+            rollupRepository.save(rollup);
+        }
+
+        // Schritt 3+4: Rohdaten verschieben
+        gameSessionRepository.copySessionsPlayedBeforeToArchive(cutoff);
+        return gameSessionRepository.deleteSessionsPlayedBefore(cutoff);
+    }
+}
@@ -1,23 +1,55 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.dto.GameHistoryDTO;
+import com.wiss.quizbackend.dto.GameHistoryPageDTO;
 import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.event.GameEventBus;
+import com.wiss.quizbackend.event.GameFinishedEvent;
+import com.wiss.quizbackend.event.GameStartedEvent;
+import com.wiss.quizbackend.exception.GameAlreadyFinishedException;
+import com.wiss.quizbackend.profiling.GameSessionOperationEvent;
+import com.wiss.quizbackend.repository.ArchivedGameSessionRepository;
 import com.wiss.quizbackend.repository.GameSessionRepository;
 import com.wiss.quizbackend.repository.AppUserRepository;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class GameSessionService {
 
+    // Grenzen, wenn der Client keinen Zeitraum angibt
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    // Neueste zuerst, bei gleichem played_at die grössere ID zuerst (wie ORDER BY in den Queries)
+    private static final Comparator<GameHistoryDTO> NEWEST_FIRST = Comparator
+            .comparing(GameHistoryDTO::getPlayedAt)
+            .thenComparing(GameHistoryDTO::getId)
+            .reversed();
+
     private final GameSessionRepository gameSessionRepository;
+    private final ArchivedGameSessionRepository archivedGameSessionRepository;
     private final AppUserRepository appUserRepository;
+    private final GameEventBus gameEventBus;
 
-    public GameSessionService(GameSessionRepository gameSessionRepository, AppUserRepository appUserRepository) {
+    public GameSessionService(GameSessionRepository gameSessionRepository,
+                              ArchivedGameSessionRepository archivedGameSessionRepository,
+                              AppUserRepository appUserRepository,
+                              GameEventBus gameEventBus) {
         this.gameSessionRepository = gameSessionRepository;
+        this.archivedGameSessionRepository = archivedGameSessionRepository;
         this.appUserRepository = appUserRepository;
+        this.gameEventBus = gameEventBus;
     }
 
     /**
@@ -25,6 +57,8 @@ public class GameSessionService {
      */
     @Transactional
     public GameSession startGame(Long userId, String category, int totalQuestions) {
+        GameSessionOperationEvent event = new GameSessionOperationEvent();
+        event.begin();
 
         // Validierung - User existiert?
         if (!appUserRepository.existsById(userId)) {
@@ -57,23 +91,36 @@ public class GameSessionService {
 
         GameSession saved = gameSessionRepository.save(session);
 
-        System.out.println("🎮 Game gestartet: ID=" + saved.getId() +
-                ", User=" + userId + ", Kategorie=" + category);
+        // Event veröffentlichen (nicht blockierend, Logging im Hintergrund)
+        gameEventBus.publish(new GameStartedEvent(
+                saved.getId(), userId, category, totalQuestions, Instant.now()));
 
+        event.commit("start", saved, false);
         return saved;
     }
 
     /**
      * Beendet ein Game und berechnet den finalen Score
+     * <p>
+     * Idempotent: Wird dasselbe Game mit demselben Resultat nochmals beendet
+     * (Retry, Doppelklick), kommt das gespeicherte Resultat zurück - ohne Schreibzugriff.
+     * Ein abweichendes Resultat für ein bereits beendetes Game wird mit
+     * GameAlreadyFinishedException (409) abgelehnt.
+     * </p>
+     * <p>
+     * Bewusst OHNE @Transactional: Laden und Speichern laufen in eigenen,
+     * kurzen Transaktionen. Gleichzeitige Finishes schützt die @Version
+     * der GameSession (Optimistic Locking, keine Row-Locks): der Verlierer
+     * bekommt eine ConcurrencyFailureException, lädt den aktuellen Stand
+     * und wird wie ein Retry behandelt.
+     * </p>
      */
-    @Transactional
     public GameSession finishGame(Long sessionId, int correctAnswers) {
+        GameSessionOperationEvent event = new GameSessionOperationEvent();
+        event.begin();
 
         // GameSession laden
-        GameSession session = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "GameSession mit ID " + sessionId + " nicht gefunden!"
-                ));
+        GameSession session = getGameById(sessionId);
 
         // Validierung - correctAnswers sinnvoll?
         if (correctAnswers < 0 || correctAnswers > session.getTotalQuestions()) {
@@ -83,22 +130,55 @@ public class GameSessionService {
             );
         }
 
+        // Bereits beendet? → gespeichertes Resultat oder Konflikt, kein Schreibzugriff
+        if (session.getFinishedAt() != null) {
+            GameSession stored = alreadyFinished(session, correctAnswers);
+            event.commit("finish", stored, true);
+            return stored;
+        }
+
         // Score berechnen
         int score = calculateScore(correctAnswers);
 
         // GameSession aktualisieren
         session.setCorrectAnswers(correctAnswers);
         session.setTotalScore(score);
+        session.setFinishedAt(LocalDateTime.now());
 
-        GameSession updated = gameSessionRepository.save(session);
+        GameSession updated;
+        try {
+            updated = gameSessionRepository.save(session);
+        } catch (ConcurrencyFailureException e) {
+            // Ein anderer Request war schneller → dessen Resultat prüfen
+            GameSession stored = alreadyFinished(getGameById(sessionId), correctAnswers);
+            event.commit("finish", stored, true);
+            return stored;
+        }
 
-        System.out.println("🏆 Game beendet: ID=" + sessionId +
-                ", Score=" + score + " (" + correctAnswers + "/" +
-                session.getTotalQuestions() + " richtig)");
+        // Event veröffentlichen (nicht blockierend, Logging im Hintergrund)
+        gameEventBus.publish(new GameFinishedEvent(
+                sessionId, updated.getUserId(), updated.getCategory(),
+                correctAnswers, updated.getTotalQuestions(), score, Instant.now()));
 
+        event.commit("finish", updated, false);
         return updated;
     }
 
+    /**
+     * Behandelt ein Finish für ein bereits beendetes Game.
+     *
+     * @param stored Der gespeicherte Stand
+     * @param correctAnswers Das Resultat des aktuellen Requests
+     * @return Der gespeicherte Stand, wenn das Resultat übereinstimmt
+     * @throws GameAlreadyFinishedException wenn das Resultat abweicht
+     */
+    private GameSession alreadyFinished(GameSession stored, int correctAnswers) {
+        if (stored.getFinishedAt() != null && stored.getCorrectAnswers() == correctAnswers) {
+            return stored;
+        }
+        throw new GameAlreadyFinishedException(stored.getId(), stored.getCorrectAnswers());
+    }
+
     /**
      * Berechnet den Score basierend auf richtigen Antworten
      */
@@ -126,4 +206,103 @@ public class GameSessionService {
                 ));
     }
 
-}
\ No newline at end of file
+    /**
+     * Lädt eine Seite der Game-Historie eines Users (Keyset-Pagination).
+     * <p>
+     * Erste Seite: beforePlayedAt und beforeId weglassen.
+     * Nächste Seite: nextBeforePlayedAt/nextBeforeId aus der Antwort mitgeben.
+     * </p>
+     * Enthält auch archivierte Games (game_sessions_archive, siehe GameSessionArchiveService):
+     * beide Tabellen liefern je eine Seite ab dem Cursor, die beiden sortierten Listen
+     * werden zusammengeführt. Der Cursor passt für beide, weil archivierte Sessions ihre ID behalten.
+     *
+     * @param userId Der User
+     * @param category Optional: nur diese Kategorie
+     * @param from Optional: ab diesem Zeitpunkt (inklusiv)
+     * @param to Optional: bis zu diesem Zeitpunkt (exklusiv)
+     * @param beforePlayedAt Optional: Cursor aus der vorherigen Seite
+     * @param beforeId Optional: Cursor aus der vorherigen Seite
+     * @param size Anzahl Einträge pro Seite (1-100)
+     * @return Die Seite inkl. Cursor für die nächste Seite
+     */
+    @Transactional(readOnly = true)
+    public GameHistoryPageDTO getHistory(Long userId, String category,
+                                         LocalDateTime from, LocalDateTime to,
+                                         LocalDateTime beforePlayedAt, Long beforeId,
+                                         int size) {
+
+        // Validierung - Seitengrösse sinnvoll?
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "size muss zwischen 1 und " + MAX_HISTORY_PAGE_SIZE + " sein!"
+            );
+        }
+
+        // Validierung - Cursor nur komplett (beide Werte) oder gar nicht
+        if ((beforePlayedAt == null) != (beforeId == null)) {
+            throw new IllegalArgumentException(
+                    "beforePlayedAt und beforeId müssen zusammen angegeben werden!"
+            );
+        }
+
+        // Validierung - Kategorie gültig?
+        if (category != null && !isValidCategory(category)) {
+            throw new IllegalArgumentException("Ungültige Kategorie: " + category);
+        }
+
+        LocalDateTime lowerBound = from != null ? from : HISTORY_START;
+
+        // Ohne Cursor startet die Suche an der oberen Grenze (exklusiv):
+        // "played_at < to" entspricht dem Cursor (to, ID 0)
+        LocalDateTime cursorPlayedAt = beforePlayedAt != null ? beforePlayedAt
+                : (to != null ? to : HISTORY_END);
+        Long cursorId = beforeId != null ? beforeId : 0L;
+
+        // Einen Eintrag mehr laden, um zu wissen, ob es eine nächste Seite gibt
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<GameHistoryDTO> hot = (category == null)
+                ? gameSessionRepository.findHistoryPage(
+                        userId, lowerBound, cursorPlayedAt, cursorId, limit)
+                : gameSessionRepository.findHistoryPageByCategory(
+                        userId, category, lowerBound, cursorPlayedAt, cursorId, limit);
+        List<GameHistoryDTO> archived = (category == null)
+                ? archivedGameSessionRepository.findHistoryPage(
+                        userId, lowerBound, cursorPlayedAt, cursorId, limit)
+                : archivedGameSessionRepository.findHistoryPageByCategory(
+                        userId, category, lowerBound, cursorPlayedAt, cursorId, limit);
+        List<GameHistoryDTO> rows = mergeNewestFirst(hot, archived, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<GameHistoryDTO> items = hasMore ? rows.subList(0, size) : rows;
+
+        if (!hasMore) {
+            return new GameHistoryPageDTO(items, false, null, null);
+        }
+
+        GameHistoryDTO last = items.get(items.size() - 1);
+        return new GameHistoryPageDTO(items, true, last.getPlayedAt(), last.getId());
+    }
+
+    /**
+     * Führt zwei bereits sortierte Listen zusammen (wie beim Merge-Sort) und hört nach {@code limit} auf.
+     */
+    private static List<GameHistoryDTO> mergeNewestFirst(List<GameHistoryDTO> first,
+                                                         List<GameHistoryDTO> second,
+                                                         int limit) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        List<GameHistoryDTO> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j >= second.size()
+                    || (i < first.size() && NEWEST_FIRST.compare(first.get(i), second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+}
@@ -1,9 +1,15 @@
 package com.wiss.quizbackend.service;
 
+import com.wiss.quizbackend.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +17,9 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -26,54 +35,148 @@ import java.util.function.Function;
  *
  * Claims (Payload) enthält:
  * - sub: Subject (Username)
+ * - uid: User ID (damit der Filter den User nicht aus der DB laden muss)
  * - role: User Rolle
+ * - jti: Token ID (zufällige UUID, damit ein einzelner Token widerrufen werden kann)
  * - iat: Issued At (Zeitpunkt der Erstellung)
  * - exp: Expiration (Ablaufzeit)
  */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
     /**
-     * Secret Key aus application.properties.
-     * WICHTIG: In Production als Environment Variable!
+     * Token Gültigkeit in Millisekunden (15 min = 900000ms).
+     * Kurz, weil ein JWT bis zum Ablauf gültig bleibt - danach
+     * holt sich der Client per Refresh Token einen neuen.
      */
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final long expirationTime;
 
     /**
-     * Token Gültigkeit in Millisekunden (24h = 86400000ms).
+     * Signing Key und Parser werden EINMAL beim Start gebaut.
+     * Beide sind thread-safe und können von allen Requests geteilt werden.
+     * <p>
+     * Analogie: Das Ausweis-Lesegerät wird einmal montiert -
+     * nicht für jede Person neu zusammengeschraubt.
+     * </p>
      */
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // Dauer von verify(), getrennt nach Resultat - gesetzt von bindTo(), null in Tests/Benchmarks
+    private volatile Timer validTokenTimer;
+    private volatile Timer invalidTokenTimer;
+
+    /**
+     * Constructor Injection der Konfiguration.
+     *
+     * @param secretKey Secret Key aus application.properties (in Production als Environment Variable!)
+     * @param expirationTime Token Gültigkeit in Millisekunden
+     */
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long expirationTime) {
+        this.expirationTime = expirationTime;
+        this.signingKey = buildSigningKey(secretKey);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
 
     /**
      * Generiert einen JWT Token für einen User.
      * <p>
      * Claims die gesetzt werden:
      * - sub: Username (Standard JWT Claim)
+     * - uid: User ID (Custom Claim)
      * - role: User Rolle (Custom Claim)
+     * - jti: Token ID (Standard JWT Claim, siehe TokenRevocationList)
      * - iat: Issued At Timestamp
      * - exp: Expiration Timestamp
      * </p>
+     * Analogie: Auf dem Ausweis steht nicht nur der Name, sondern auch
+     * die Personalnummer - das Lesegerät muss nicht mehr in der Zentrale nachfragen.
+     *
+     * @param userId Die ID des Users
      * @param username Der Username des Users
      * @param role Die Rolle des Users (ADMIN oder PLAYER)
      * @return JWT Token als String
      */
-    public String generateToken(String username, String role) {
+    public String generateToken(Long userId, String username, String role) {
         // 1. Claims Map erstellen (Payload)
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);  // Custom Claim für Rolle
+        claims.put("uid", userId);  // Custom Claim für User ID
+        claims.put("role", role);   // Custom Claim für Rolle
 
         // 2. Token bauen
         return Jwts.builder()
                 .setClaims(claims)     // Custom Claims
                 .setSubject(username)  // Standard Claim (Username)
+                .setId(UUID.randomUUID().toString())  // Standard Claim (Token ID)
                 .setIssuedAt(new Date(System.currentTimeMillis()))  // Jetzt
                 .setExpiration(
-                        new Date(System.currentTimeMillis() + expirationTime))  // +24h
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)  // Signieren
+                        new Date(System.currentTimeMillis() + expirationTime))  // +15 min
+                .signWith(signingKey, SignatureAlgorithm.HS256)  // Signieren
                 .compact();  // Zu String konvertieren
     }
 
+    /**
+     * @return Gültigkeit eines neuen Tokens in Millisekunden (für expiresIn)
+     */
+    public long getExpirationTime() {
+        return expirationTime;
+    }
+
+    /**
+     * Verifiziert einen Token EINMAL und liefert alle benötigten Claims.
+     * <p>
+     * Eine einzige Signaturprüfung + JSON-Parse pro Request,
+     * statt je eine pro extractXxx()-Aufruf.
+     * Abgelaufene, manipulierte oder kaputte Tokens ergeben ein leeres Optional.
+     * </p>
+     *
+     * @param token Der JWT Token
+     * @return Der geprüfte Token oder Optional.empty() wenn ungültig
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        long start = System.nanoTime();
+        Optional<VerifiedToken> result = parseAndVerify(token);
+        Timer timer = result.isPresent() ? validTokenTimer : invalidTokenTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    private Optional<VerifiedToken> parseAndVerify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("uid", Long.class),
+                    claims.get("role", String.class),
+                    claims.getId(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant()
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Registriert den Timer quiz.jwt.verification (Tags: result=valid|invalid).
+     * Wird von Spring Boot automatisch aufgerufen (MeterBinder).
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        validTokenTimer = Timer.builder("quiz.jwt.verification")
+                .description("Signaturprüfung und Parsen eines JWT")
+                .tag("result", "valid")
+                .register(registry);
+        invalidTokenTimer = Timer.builder("quiz.jwt.verification")
+                .description("Signaturprüfung und Parsen eines JWT")
+                .tag("result", "invalid")
+                .register(registry);
+    }
 
     /**
      * Extrahiert den Username aus einem Token.
@@ -85,6 +188,16 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Extrahiert die User ID aus einem Token.
+     *
+     * @param token Der JWT Token
+     * @return Die User ID oder null bei älteren Tokens ohne "uid" Claim
+     */
+    public Long extractUserId(String token) {
+        return extractClaim(token, claims -> claims.get("uid", Long.class));
+    }
+
     /**
      * Extrahiert die Rolle aus einem Token.
      *
@@ -124,11 +237,7 @@ public class JwtService {
      * @return Alle Claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -143,7 +252,9 @@ public class JwtService {
 
     /**
      * Validiert einen Token.
-     *
+     * <p>
+     * Parst den Token dreimal - für Requests lieber {@link #verify(String)} verwenden.
+     * </p>
      * Prüft:
      * 1. Username stimmt mit dem User überein
      * 2. Token ist nicht abgelaufen
@@ -163,9 +274,10 @@ public class JwtService {
      *
      * HMAC SHA256 benötigt mindestens 256 Bit (32 Bytes).
      *
+     * @param secretKey Das Secret
      * @return Der Signing Key
      */
-    private Key getSigningKey() {
+    private static Key buildSigningKey(String secretKey) {
         byte[] keyBytes = secretKey.getBytes();
         return Keys.hmacShaKeyFor(keyBytes);
     }
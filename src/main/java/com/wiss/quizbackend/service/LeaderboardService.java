@@ -2,8 +2,12 @@ package com.wiss.quizbackend.service;
 
 import com.wiss.quizbackend.dto.LeaderboardDTO;
 import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.profiling.LeaderboardAggregationEvent;
 import com.wiss.quizbackend.repository.LeaderboardRepository;
 import com.wiss.quizbackend.repository.AppUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -13,13 +17,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
-public class LeaderboardService {
+public class LeaderboardService implements MeterBinder {
 
     private final LeaderboardRepository leaderboardRepository;  // ← Leaderboard Repo!
     private final AppUserRepository appUserRepository;
 
+    // Dauer der Leaderboard-Aggregation (Query + Usernamen) - gesetzt von bindTo(), null in Unit-Tests
+    private volatile Timer globalAggregationTimer;
+    private volatile Timer categoryAggregationTimer;
+
     // Constructor Injection
     public LeaderboardService(LeaderboardRepository leaderboardRepository, AppUserRepository appUserRepository) {
         this.leaderboardRepository = leaderboardRepository;
@@ -33,12 +42,14 @@ public class LeaderboardService {
      */
     @Transactional(readOnly = true)
     public List<LeaderboardDTO> getTop10Players() {
-        // Schritt 1: LeaderboardRepository aufrufen
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Object[]> results = leaderboardRepository.findTop10Players(pageable);
-
-        // Schritt 2: Object[] zu DTO transformieren
-        return transformToLeaderboardDTOs(results, null);
+        return timed(globalAggregationTimer, "global", null, () -> {
+            // Schritt 1: LeaderboardRepository aufrufen
+            Pageable pageable = PageRequest.of(0, 10);
+            List<Object[]> results = leaderboardRepository.findTop10Players(pageable);
+
+            // Schritt 2: Object[] zu DTO transformieren
+            return transformToLeaderboardDTOs(results, null);
+        });
     }
 
     /**
@@ -54,13 +65,15 @@ public class LeaderboardService {
             throw new IllegalArgumentException("Kategorie darf nicht leer sein!");
         }
 
-        // LeaderboardRepository aufrufen
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Object[]> results = leaderboardRepository
-                .findTop10PlayersByCategory(category, pageable);
+        return timed(categoryAggregationTimer, "category", category, () -> {
+            // LeaderboardRepository aufrufen
+            Pageable pageable = PageRequest.of(0, 10);
+            List<Object[]> results = leaderboardRepository
+                    .findTop10PlayersByCategory(category, pageable);
 
-        // Object[] zu DTO transformieren
-        return transformToLeaderboardDTOs(results, category);
+            // Object[] zu DTO transformieren
+            return transformToLeaderboardDTOs(results, category);
+        });
     }
 
     /**
@@ -82,9 +95,14 @@ public class LeaderboardService {
                 .orElse("Unknown User");
 
         // Statistiken aus LeaderboardRepository laden
+        // (kombiniert heisse Sessions + archivierte Rollups)
         Long gamesPlayed = leaderboardRepository.countGamesByUser(userId);
-        Integer totalScore = leaderboardRepository.sumScoreByUser(userId);
-        Double averageScore = leaderboardRepository.averageScoreByUser(userId);
+        Long totalScore = leaderboardRepository.sumScoreByUser(userId);
+
+        // Durchschnitt aus Summe / Anzahl berechnen - spart eine dritte Abfrage
+        Double averageScore = (gamesPlayed != null && gamesPlayed > 0 && totalScore != null)
+                ? (double) totalScore / gamesPlayed
+                : null;
 
         // In Map packen
         Map<String, Object> stats = new HashMap<>();
@@ -124,6 +142,39 @@ public class LeaderboardService {
         return stats;
     }
 
+    /**
+     * Registriert den Timer quiz.leaderboard.aggregation (Tag scope=global|category).
+     * Wird von Spring Boot automatisch aufgerufen (MeterBinder).
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        globalAggregationTimer = Timer.builder("quiz.leaderboard.aggregation")
+                .description("Berechnung der Top 10 inkl. Usernamen")
+                .tag("scope", "global")
+                .register(registry);
+        categoryAggregationTimer = Timer.builder("quiz.leaderboard.aggregation")
+                .description("Berechnung der Top 10 inkl. Usernamen")
+                .tag("scope", "category")
+                .register(registry);
+    }
+
+    /**
+     * Misst eine Aggregation: Micrometer-Timer und JFR-Event (LeaderboardAggregationEvent).
+     */
+    private static List<LeaderboardDTO> timed(Timer timer, String scope, String category,
+                                              Supplier<List<LeaderboardDTO>> aggregation) {
+        LeaderboardAggregationEvent event = new LeaderboardAggregationEvent();
+        event.begin();
+        List<LeaderboardDTO> leaderboard = timer != null ? timer.record(aggregation) : aggregation.get();
+        if (event.shouldCommit()) {
+            event.scope = scope;
+            event.category = category;
+            event.rowCount = leaderboard.size();
+            event.commit();
+        }
+        return leaderboard;
+    }
+
     /**
      * Hilfsmethode: Transformiert Object[] zu LeaderboardDTO
      *
@@ -0,0 +1,100 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.exception.ProfilingInProgressException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Zeitlich begrenzte JFR-Aufzeichnungen auf Knopfdruck (JDK Flight Recorder, ohne Agent).
+ * <p>
+ * Die Aufzeichnung enthält die JVM-Events (CPU-Samples, Allokationen, GC, Locks, I/O)
+ * UND die eigenen Events aus com.wiss.quizbackend.profiling (Fragen lesen,
+ * Leaderboard, Games, JWT, BCrypt). Auswerten mit JDK Mission Control oder
+ * {@code jfr print --events com.wiss.quizbackend.* recording.jfr}.
+ * </p>
+ * - Settings "default": ca. 1% Overhead, für Produktion gedacht
+ * - Settings "profile": mehr Details (z.B. häufigere Samples), ca. 2%
+ * <p>
+ * Es läuft immer höchstens EINE Aufzeichnung gleichzeitig.
+ * </p>
+ */
+@Service
+public class ProfilingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Duration maxDuration;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public ProfilingService(@Value("${quiz.profiling.max-duration:5m}") Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Zeichnet während {@code duration} auf und blockiert so lange.
+     *
+     * @param duration Dauer der Aufzeichnung (max. quiz.profiling.max-duration)
+     * @param settings "default" oder "profile"
+     * @return Temporäre .jfr-Datei - der Aufrufer muss sie löschen
+     * @throws ProfilingInProgressException wenn bereits aufgezeichnet wird
+     */
+    public Path record(Duration duration, String settings) throws IOException {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException(
+                    "Dauer muss zwischen 1 und " + maxDuration.toSeconds() + " Sekunden liegen");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("Settings müssen 'default' oder 'profile' sein");
+        }
+        if (!recording.compareAndSet(false, true)) {
+            throw new ProfilingInProgressException();
+        }
+
+        Path file = Files.createTempFile("quiz-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-", ".jfr");
+        try (Recording jfr = new Recording(Configuration.getConfiguration(settings))) {
+            jfr.setName("quiz-on-demand");
+            jfr.setToDisk(true);
+            jfr.start();
+            log.info("JFR-Aufzeichnung gestartet ({} s, settings={})", duration.toSeconds(), settings);
+
+            Thread.sleep(duration.toMillis());
+
+            jfr.stop();
+            jfr.dump(file);
+            log.info("JFR-Aufzeichnung beendet: {} ({} KB)", file, Files.size(file) / 1024);
+            return file;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Files.deleteIfExists(file);
+            throw new IllegalStateException("JFR-Aufzeichnung abgebrochen", e);
+        } catch (ParseException e) {
+            Files.deleteIfExists(file);
+            throw new IllegalStateException("JFR-Settings '" + settings + "' nicht lesbar", e);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    public boolean isRecording() {
+        return recording.get();
+    }
+}
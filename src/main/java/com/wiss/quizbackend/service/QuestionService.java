@@ -8,11 +8,14 @@ import com.wiss.quizbackend.exception.CategoryNotFoundException;
 import com.wiss.quizbackend.exception.DifficultyNotFoundException;
 import com.wiss.quizbackend.exception.QuestionNotFoundException;
 import com.wiss.quizbackend.mapper.QuestionMapper;
+import com.wiss.quizbackend.profiling.QuestionCatalogReadEvent;
+import com.wiss.quizbackend.profiling.QuestionSamplingEvent;
 import com.wiss.quizbackend.repository.QuestionRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class QuestionService {
@@ -24,12 +27,12 @@ public class QuestionService {
 
     // Neue DTO-basierte Methoden
     public List<QuestionDTO> getAllQuestionsAsDTO() {
-        List<Question> entities = repository.findAll();
+        List<Question> entities = catalogRead("all", null, null, repository::findAll);
         return QuestionMapper.toDTOList(entities);
     }
 
     public List<QuestionFormDTO> getAllQuestionsAsFormDTO() {
-        List<Question> entities = repository.findAll();
+        List<Question> entities = catalogRead("all", null, null, repository::findAll);
         return QuestionMapper.toFormDTOList(entities);
     }
 
@@ -70,7 +73,7 @@ public class QuestionService {
     }
 
     public List<Question> getAllQuestions() {
-        return repository.findAll();
+        return catalogRead("all", null, null, repository::findAll);
     }
 
     public Question getQuestionById(Long id) {
@@ -88,12 +91,14 @@ public class QuestionService {
 
     public List<Question> getQuestionsByCategory(String category) {
         validateCategory(category);
-        return repository.findByCategory(category.toLowerCase());
+        return catalogRead("byCategory", category, null,
+                () -> repository.findByCategory(category.toLowerCase()));
     }
 
     public List<Question> getQuestionsByDifficulty(String difficulty) {
         validateDifficulty(difficulty);
-        return repository.findByDifficulty(difficulty.toLowerCase());
+        return catalogRead("byDifficulty", null, difficulty,
+                () -> repository.findByDifficulty(difficulty.toLowerCase()));
     }
 
     public long getTotalQuestionsCount() {
@@ -217,7 +222,8 @@ public class QuestionService {
         validateCategory(category);
         validateDifficulty(difficulty);
 
-        List<Question> entities = repository.findByCategoryAndDifficulty(category, difficulty);
+        List<Question> entities = catalogRead("byCategoryAndDifficulty", category, difficulty,
+                () -> repository.findByCategoryAndDifficulty(category, difficulty));
         return QuestionMapper.toDTOList(entities);
     }
 
@@ -226,7 +232,8 @@ public class QuestionService {
             throw new IllegalArgumentException("Search keyword cannot be empty");
         }
 
-        List<Question> entities = repository.findByQuestionContainingIgnoreCase(keyword.trim());
+        List<Question> entities = catalogRead("search", null, null,
+                () -> repository.findByQuestionContainingIgnoreCase(keyword.trim()));
         return QuestionMapper.toDTOList(entities);
     }
 
@@ -240,7 +247,7 @@ public class QuestionService {
             throw new IllegalArgumentException("Limit must be between 1 and 50");
         }
 
-        List<Question> entities = repository.findRandomQuestions(limit);
+        List<Question> entities = sample(null, limit, () -> repository.findRandomQuestions(limit));
         return QuestionMapper.toDTOList(entities);
     }
 
@@ -250,10 +257,45 @@ public class QuestionService {
             throw new IllegalArgumentException("Limit must be between 1 and 50");
         }
 
-        List<Question> entities = repository.findRandomByCategory(category, limit);
+        List<Question> entities = sample(category, limit, () -> repository.findRandomByCategory(category, limit));
         return QuestionMapper.toDTOList(entities);
     }
 
+    /**
+     * Liest Fragen aus dem Katalog und meldet es als JFR-Event (QuestionCatalogReadEvent).
+     * Ohne laufende JFR-Aufzeichnung kostet das Event praktisch nichts.
+     */
+    private List<Question> catalogRead(String operation, String category, String difficulty,
+                                       Supplier<List<Question>> query) {
+        QuestionCatalogReadEvent event = new QuestionCatalogReadEvent();
+        event.begin();
+        List<Question> questions = query.get();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.category = category;
+            event.difficulty = difficulty;
+            event.rowCount = questions.size();
+            event.commit();
+        }
+        return questions;
+    }
+
+    /**
+     * Zufallsauswahl mit JFR-Event (QuestionSamplingEvent).
+     */
+    private List<Question> sample(String category, int limit, Supplier<List<Question>> query) {
+        QuestionSamplingEvent event = new QuestionSamplingEvent();
+        event.begin();
+        List<Question> questions = query.get();
+        if (event.shouldCommit()) {
+            event.category = category;
+            event.requested = limit;
+            event.returned = questions.size();
+            event.commit();
+        }
+        return questions;
+    }
+
     private void validateCategory(String category) {
         if (category == null || category.trim().isEmpty()) {
             throw new IllegalArgumentException("Category cannot be null or empty");
@@ -0,0 +1,185 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.RefreshToken;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service für Refresh Tokens.
+ * <p>
+ * Der JWT (Access Token) lebt nur kurz (jwt.expiration, z.B. 15 Minuten).
+ * Läuft er ab, schickt der Client seinen Refresh Token an /api/auth/refresh und
+ * bekommt einen neuen JWT - das kostet einen SELECT, einen UPDATE, einen INSERT
+ * und eine HMAC-Signatur, aber KEINEN BCrypt-Hash wie ein Login.
+ * </p>
+ * Sicherheit:
+ * - Der Token ist 256 Bit Zufall - raten ist aussichtslos, deshalb reicht SHA-256
+ *   als Hash in der Datenbank (BCrypt braucht es nur für schwache Passwörter)
+ * - Rotation: jeder Token funktioniert genau EINMAL
+ * - Wiederverwendung eines alten Tokens → ganze Familie widerrufen (Diebstahl!)
+ * - Logout widerruft die Familie, revokeAllForUser() alle Sitzungen eines Users
+ * <p>
+ * Analogie: Der Garderoben-Zettel. Wer ihn abgibt, bekommt seinen Mantel und
+ * einen neuen Zettel. Kommt derselbe alte Zettel ein zweites Mal,
+ * ist etwas faul - dann wird die ganze Garderobe dieser Person gesperrt.
+ * </p>
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AppUserRepository appUserRepository;
+    private final Duration ttl;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               AppUserRepository appUserRepository,
+                               @Value("${quiz.refresh-token.ttl:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.appUserRepository = appUserRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Resultat eines erfolgreichen Refreshs.
+     *
+     * @param user Der User (frisch aus der DB, inkl. aktueller Rolle)
+     * @param refreshToken Der neue Refresh Token (der alte ist ab jetzt ungültig)
+     */
+    public record Rotation(AppUser user, String refreshToken) {}
+
+    /**
+     * Stellt nach einem Login einen neuen Refresh Token aus (neue Familie).
+     *
+     * @param user Der eingeloggte User
+     * @return Der Token im Klartext - wird nur dieses eine Mal herausgegeben
+     */
+    @Transactional
+    public String issue(AppUser user) {
+        // Der User kommt evtl. als Kopie aus dem AppUserCache → nur die Referenz (FK) verwenden
+        return store(appUserRepository.getReferenceById(user.getId()), UUID.randomUUID());
+    }
+
+    /**
+     * Tauscht einen Refresh Token gegen einen neuen aus derselben Familie.
+     *
+     * @param rawToken Der Token vom Client
+     * @return Der User und der neue Token, oder Optional.empty() wenn der Token
+     *         unbekannt, abgelaufen oder bereits verbraucht ist
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = found.get();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.isRevoked()) {
+            // Ein bereits verbrauchter Token taucht wieder auf → gestohlen oder kopiert.
+            // Alle Tokens der Familie sperren, auch den aktuell gültigen Nachfolger.
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {} - {} tokens of family {} revoked",
+                    current.getUser().getId(), revoked, current.getFamilyId());
+            return Optional.empty();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        // Bedingter UPDATE: bei zwei gleichzeitigen Refreshs gewinnt nur einer
+        if (refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            return Optional.empty();
+        }
+
+        AppUser user = current.getUser();
+        return Optional.of(new Rotation(user, store(user, current.getFamilyId())));
+    }
+
+    /**
+     * Logout: widerruft den Token und alle Tokens derselben Familie.
+     * Unbekannte Tokens werden ignoriert (Logout ist idempotent).
+     *
+     * @param rawToken Der Token vom Client
+     * @return true wenn der Token bekannt war
+     */
+    @Transactional
+    public boolean revoke(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken));
+        found.ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+        return found.isPresent();
+    }
+
+    /**
+     * Widerruft alle Refresh Tokens eines Users ("überall abmelden").
+     *
+     * @param userId Die ID des Users
+     * @return Anzahl widerrufener Tokens
+     */
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Gültigkeit eines Refresh Tokens (für expiresIn in der Login-Antwort).
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Löscht abgelaufene Tokens (Default: täglich 04:15 Uhr, "-" deaktiviert den Job).
+     */
+    @Scheduled(cron = "${quiz.refresh-token.cleanup-cron:0 15 4 * * *}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Refresh-Token-Job: {} abgelaufene Tokens gelöscht", deleted);
+        }
+    }
+
+    private String store(AppUser user, UUID familyId) {
+        byte[] random = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(random);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        refreshTokenRepository.save(new RefreshToken(
+                hash(rawToken), user, familyId, LocalDateTime.now().plus(ttl)));
+        return rawToken;
+    }
+
+    private static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 ist in jeder JVM vorhanden
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
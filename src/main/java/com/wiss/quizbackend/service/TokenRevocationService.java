@@ -0,0 +1,124 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.RevokedToken;
+import com.wiss.quizbackend.entity.UserTokenRevocation;
+import com.wiss.quizbackend.repository.RevokedTokenRepository;
+import com.wiss.quizbackend.repository.UserTokenRevocationRepository;
+import com.wiss.quizbackend.security.TokenRevocationList;
+import com.wiss.quizbackend.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Service für den Widerruf von JWTs (Logout, Sperre eines Users).
+ * <p>
+ * Schreibt jeden Widerruf in die Datenbank (revoked_tokens, user_token_revocations)
+ * UND in die TokenRevocationList im Speicher. Der JwtAuthenticationFilter fragt
+ * nur die Liste im Speicher - kein zusätzlicher SELECT pro Request.
+ * </p>
+ * - Beim Start: Liste aus der Datenbank aufbauen (nur noch relevante Einträge)
+ * - Regelmässig: abgelaufene Einträge löschen (DB + Speicher)
+ * <p>
+ * Hinweis: Bei mehreren Instanzen sieht eine Instanz die Widerrufe der anderen
+ * erst nach ihrem nächsten Start. Bis dahin schützt die kurze Gültigkeit der JWTs.
+ * </p>
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationList revocationList;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final Duration maxTokenLifetime;
+
+    public TokenRevocationService(TokenRevocationList revocationList,
+                                  RevokedTokenRepository revokedTokenRepository,
+                                  UserTokenRevocationRepository userTokenRevocationRepository,
+                                  RefreshTokenService refreshTokenService,
+                                  @Value("${jwt.expiration}") long expirationMillis) {
+        this.revocationList = revocationList;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.maxTokenLifetime = Duration.ofMillis(expirationMillis);
+    }
+
+    /**
+     * Baut die Liste im Speicher aus der Datenbank auf.
+     * Läuft beim Start, bevor der Webserver Requests annimmt.
+     */
+    @PostConstruct
+    public void loadFromDatabase() {
+        Instant now = Instant.now();
+        revocationList.clear();
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(token -> revocationList.revokeToken(token.getJti(), token.getExpiresAt()));
+        userTokenRevocationRepository.findByRevokedBeforeAfter(now.minus(maxTokenLifetime))
+                .forEach(revocation -> revocationList.revokeUser(
+                        revocation.getUserId(), revocation.getRevokedBefore()));
+
+        log.info("Token-Widerrufe geladen: {} Tokens, {} User",
+                revocationList.revokedTokenCount(), revocationList.revokedUserCount());
+    }
+
+    /**
+     * Widerruft einen einzelnen Token (Logout).
+     *
+     * @param token Der verifizierte Token
+     * @return false bei älteren Tokens ohne "jti" (nicht einzeln widerrufbar)
+     */
+    @Transactional
+    public boolean revokeToken(VerifiedToken token) {
+        if (token.jti() == null) {
+            return false;
+        }
+        revokedTokenRepository.save(
+                new RevokedToken(token.jti(), token.userId(), token.expiresAt(), Instant.now()));
+        revocationList.revokeToken(token.jti(), token.expiresAt());
+        return true;
+    }
+
+    /**
+     * Sperrt alle bisher ausgestellten Tokens eines Users - JWTs UND Refresh Tokens.
+     * Der User muss sich danach neu einloggen.
+     *
+     * @param userId Die ID des Users
+     * @return Zeitpunkt, bis zu dem ausgestellte Tokens ungültig sind
+     */
+    @Transactional
+    public Instant revokeAllForUser(Long userId) {
+        // "iat" im JWT ist sekundengenau → Zeitpunkt ebenfalls auf Sekunden kürzen
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userTokenRevocationRepository.save(new UserTokenRevocation(userId, revokedBefore));
+        revocationList.revokeUser(userId, revokedBefore);
+        refreshTokenService.revokeAllForUser(userId);
+        return revokedBefore;
+    }
+
+    /**
+     * Löscht Einträge, deren Tokens abgelaufen sind - in der DB und im Speicher.
+     */
+    @Scheduled(fixedDelayString = "${quiz.security.revocation.prune-interval:600000}")
+    @Transactional
+    public void pruneExpired() {
+        Instant now = Instant.now();
+        int deleted = revokedTokenRepository.deleteExpired(now)
+                + userTokenRevocationRepository.deleteRevokedBefore(now.minus(maxTokenLifetime));
+        int pruned = revocationList.prune(now, maxTokenLifetime);
+        if (deleted > 0 || pruned > 0) {
+            log.info("Token-Widerrufe: {} abgelaufene Einträge gelöscht ({} im Speicher)", deleted, pruned);
+        }
+    }
+}
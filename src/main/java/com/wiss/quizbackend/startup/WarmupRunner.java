@@ -0,0 +1,177 @@
+package com.wiss.quizbackend.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.dto.QuestionDTO;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import com.wiss.quizbackend.service.JwtService;
+import com.wiss.quizbackend.service.LeaderboardService;
+import com.wiss.quizbackend.service.QuestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aufwärmen nach dem Start, BEVOR die App als "ready" gilt.
+ * <p>
+ * Direkt nach dem Start ist alles kalt: der JIT-Compiler hat noch nichts optimiert,
+ * der Connection Pool hat nur minimum-idle Connections, die Datenbank hat die
+ * Fragen nicht im Cache. Schickt der Load Balancer sofort vollen Traffic,
+ * ist die p99-Latenz in der ersten Minute miserabel.
+ * </p>
+ * Ablauf (jeder Schritt für sich - ein Fehler bricht den Start nicht ab):
+ * 1. Connection Pool: bis zur maximalen Grösse füllen (höchstens so viele, wie die
+ *    Einlasskontrolle vor der Datenbank gleichzeitig zulässt)
+ * 2. Fragenkatalog: alle Fragen einmal laden und mappen (Queries, Datenbank-Cache)
+ * 3. Leaderboard: Top 10 und Kategorie-Statistik einmal berechnen
+ * 4. JIT: synthetische Fragen durch QuestionMapper und Jackson, Tokens durch JwtService -
+ *    quiz.warmup.iterations Runden, höchstens quiz.warmup.max-duration
+ * <p>
+ * Readiness: Spring Boot meldet ReadinessState.ACCEPTING_TRAFFIC erst, wenn alle
+ * ApplicationRunner fertig sind. Bis dahin antwortet /readyz mit 503 - der Load
+ * Balancer schickt noch keinen Traffic, /livez ist schon UP.
+ * </p>
+ * Analogie: Der Koch heizt Ofen und Grill vor, bevor das Restaurant die Tür aufschliesst.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final int SYNTHETIC_QUESTIONS = 20;
+
+    private final QuestionService questionService;
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final JwtService warmupJwtService;
+    private final int connectionsToOpen;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    public WarmupRunner(QuestionService questionService,
+                        LeaderboardService leaderboardService,
+                        ObjectMapper objectMapper,
+                        DataSource dataSource,
+                        @Value("${jwt.secret}") String jwtSecret,
+                        @Value("${jwt.expiration}") long jwtExpiration,
+                        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                        @Value("${quiz.datasource.concurrency-limit.max-connections:0}") int permitLimit,
+                        @Value("${quiz.warmup.iterations:2000}") int iterations,
+                        @Value("${quiz.warmup.max-duration:30s}") Duration maxDuration) {
+        this.questionService = questionService;
+        this.leaderboardService = leaderboardService;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        // Eigene Instanz ohne Metriken: der JIT optimiert den Code, nicht das Objekt -
+        // und quiz.jwt.verification zählt so keine Aufwärm-Tokens mit
+        this.warmupJwtService = new JwtService(jwtSecret, jwtExpiration);
+        // Alle Connections hält EIN Thread gleichzeitig: mehr als die Einlasskontrolle
+        // (ConcurrencyLimitedDataSource) Permits hat, und er wartet auf sich selbst.
+        // 0 = Limit folgt der Poolgrösse
+        this.connectionsToOpen = permitLimit > 0 ? Math.min(poolSize, permitLimit) : poolSize;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        log.info("Warm-up gestartet - die App nimmt erst danach Traffic an (Readiness)");
+
+        step("connection-pool", this::fillConnectionPool);
+        step("catalog", this::loadCatalog);
+        step("leaderboard", this::loadLeaderboard);
+        step("jit", this::exerciseHotPaths);
+
+        log.info("Warm-up fertig nach {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void step(String name, WarmupStep step) {
+        long start = System.nanoTime();
+        try {
+            String result = step.run();
+            log.info("Warm-up {}: {} ({} ms)", name, result,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("Warm-up {} fehlgeschlagen, weiter ohne: {}", name, e.toString());
+        }
+    }
+
+    /**
+     * Alle Connections gleichzeitig holen, damit Hikari sie aufbaut, dann zurückgeben.
+     */
+    private String fillConnectionPool() throws SQLException {
+        List<Connection> connections = new ArrayList<>(connectionsToOpen);
+        try {
+            for (int i = 0; i < connectionsToOpen; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        return connections.size() + " Connections";
+    }
+
+    private String loadCatalog() {
+        List<QuestionDTO> questions = questionService.getAllQuestionsAsDTO();
+        return questions.size() + " Fragen";
+    }
+
+    private String loadLeaderboard() {
+        int players = leaderboardService.getTop10Players().size();
+        int categories = leaderboardService.getCategoryStats().size();
+        return players + " Spieler, " + categories + " Kategorien";
+    }
+
+    /**
+     * Die heissen Pfade eines Requests oft genug durchlaufen, dass der JIT sie kompiliert.
+     * Mit synthetischen Daten - die Datenbank wird dabei nicht angefasst.
+     */
+    private String exerciseHotPaths() throws Exception {
+        List<Question> questions = syntheticQuestions();
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long checksum = 0;
+        int round = 0;
+        while (round < iterations && System.nanoTime() < deadline) {
+            List<QuestionDTO> dtos = QuestionMapper.toDTOList(questions);
+            byte[] json = objectMapper.writeValueAsBytes(dtos);
+            checksum += objectMapper.readValue(json, QuestionDTO[].class).length;
+
+            String token = warmupJwtService.generateToken((long) round, "warmup", "PLAYER");
+            checksum += warmupJwtService.verify(token).isPresent() ? 1 : 0;
+            round++;
+        }
+        // checksum verwenden, damit der JIT die Schleife nicht wegoptimiert
+        return round + " Runden (checksum " + checksum + ")";
+    }
+
+    private static List<Question> syntheticQuestions() {
+        List<Question> questions = new ArrayList<>(SYNTHETIC_QUESTIONS);
+        for (long i = 0; i < SYNTHETIC_QUESTIONS; i++) {
+            questions.add(new Question(i, "Warm-up Frage " + i + "?", "Richtig",
+                    List.of("Falsch A", "Falsch B", "Falsch C"), "science", "medium", null));
+        }
+        return questions;
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        String run() throws Exception;
+    }
+}
@@ -0,0 +1,164 @@
+package com.wiss.quizbackend.timing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Zeitmessung pro Request: wie viel Zeit ging in welche Phase?
+ * <p>
+ * Der ServerTimingFilter legt am Anfang eines Requests ein RequestTimings
+ * in einen ThreadLocal, alle Messpunkte schreiben dort hinein:
+ * </p>
+ * - auth: JwtAuthenticationFilter (Token prüfen, Principal bauen)
+ * - db: jeder Repository-Aufruf einzeln (Spring Data Invocation Listener)
+ * - mapping: QuestionMapper (Listen)
+ * - serialization: Jackson (JSON schreiben)
+ * <p>
+ * Ohne aktiven Request (Messung aus, Hintergrund-Job, Unit-Test) kostet ein
+ * Messpunkt genau einen ThreadLocal-Zugriff: {@link #start()} liefert 0 und
+ * {@link #record(String, long)} macht nichts.
+ * </p>
+ * Phasen können sich überlappen (z.B. ein DB-Zugriff innerhalb von auth) -
+ * die Summe der Phasen ist deshalb nicht die Gesamtzeit.
+ * <p>
+ * Nicht thread-safe: gehört genau einem Request-Thread.
+ * </p>
+ * Analogie: Die Stempelkarte einer Bestellung in der Küche - jede Station
+ * stempelt, wie lange sie gebraucht hat.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    // Schutz gegen N+1-Schleifen: einzelne Einträge nur bis hierhin, Summen immer
+    private static final int MAX_ENTRIES = 200;
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, PhaseTotal> totals = new LinkedHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private int droppedEntries;
+
+    /**
+     * Ein einzelner Messwert.
+     *
+     * @param phase Name der Phase (auth, db, mapping, serialization)
+     * @param detail Genauere Angabe (z.B. "QuestionRepository.findByCategory"), darf null sein
+     * @param nanos Dauer
+     */
+    public record Entry(String phase, String detail, long nanos) {
+    }
+
+    private static final class PhaseTotal {
+        private int count;
+        private long nanos;
+    }
+
+    // ==================== Lebenszyklus (ServerTimingFilter) ====================
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // ==================== Messpunkte ====================
+
+    /**
+     * Startet eine Messung.
+     *
+     * @return Startzeit in Nanosekunden, 0 wenn für diesen Request nicht gemessen wird
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Beendet eine Messung, die mit {@link #start()} begonnen wurde.
+     *
+     * @param phase Name der Phase
+     * @param startNanos Rückgabewert von {@link #start()}
+     */
+    public static void record(String phase, long startNanos) {
+        if (startNanos != 0) {
+            record(phase, null, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Trägt eine bereits gemessene Dauer ein (z.B. vom Repository-Listener).
+     */
+    public static void record(String phase, String detail, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, detail, nanos);
+        }
+    }
+
+    void add(String phase, String detail, long nanos) {
+        PhaseTotal total = totals.computeIfAbsent(phase, name -> new PhaseTotal());
+        total.count++;
+        total.nanos += nanos;
+        if (entries.size() < MAX_ENTRIES) {
+            entries.add(new Entry(phase, detail, nanos));
+        } else {
+            droppedEntries++;
+        }
+    }
+
+    // ==================== Auswertung ====================
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Wert für den Server-Timing Header (eine Zeile pro Phase, in Millisekunden).
+     * Beispiel: {@code auth;dur=0.412, db;dur=3.217;desc="4 calls", total;dur=5.031}
+     */
+    String toServerTimingHeader(long totalNanos) {
+        StringJoiner header = new StringJoiner(", ");
+        totals.forEach((phase, total) -> {
+            String value = phase + ";dur=" + millis(total.nanos);
+            if (total.count > 1) {
+                value += ";desc=\"" + total.count + " calls\"";
+            }
+            header.add(value);
+        });
+        header.add("total;dur=" + millis(totalNanos));
+        return header.toString();
+    }
+
+    /**
+     * Alle Einzelwerte für das Slow-Request-Log, in der Reihenfolge ihres Auftretens.
+     */
+    String toBreakdown() {
+        StringJoiner breakdown = new StringJoiner(" | ");
+        for (Entry entry : entries) {
+            breakdown.add(entry.phase()
+                    + (entry.detail() != null ? " " + entry.detail() : "")
+                    + " " + millis(entry.nanos()) + " ms");
+        }
+        if (droppedEntries > 0) {
+            breakdown.add("... " + droppedEntries + " weitere");
+        }
+        StringJoiner sums = new StringJoiner(", ", " [", "]");
+        totals.forEach((phase, total) -> sums.add(phase + " " + total.count + "x " + millis(total.nanos) + " ms"));
+        return breakdown + sums.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
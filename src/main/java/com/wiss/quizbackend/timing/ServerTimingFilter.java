@@ -0,0 +1,89 @@
+package com.wiss.quizbackend.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Äusserster Filter: misst jeden Request und verteilt die Zeit auf Phasen (siehe RequestTimings).
+ * <p>
+ * Zwei Ausgaben, unabhängig voneinander einschaltbar:
+ * </p>
+ * - Header "Server-Timing" (quiz.server-timing.header-enabled): die Browser-DevTools
+ *   zeigen die Phasen direkt im Network-Tab an. Dafür wird die Antwort gepuffert,
+ *   sonst wäre der Header schon weg, bevor Jackson fertig ist - ausser bei Streams
+ *   wie dem .jfr-Download (siehe ServerTimingResponseWrapper).
+ * - Slow-Request-Log (Logger "slow-requests"): Requests über
+ *   quiz.server-timing.slow-request-threshold mit allen Einzelwerten.
+ *   quiz.server-timing.sample-rate bestimmt, welcher Anteil der Requests gemessen wird.
+ * <p>
+ * Beides aus (Header false, Schwelle 0): der Filter reicht nur weiter,
+ * alle Messpunkte kosten einen ThreadLocal-Zugriff.
+ * </p>
+ * Läuft vor Spring Security, damit auch der JwtAuthenticationFilter mitgemessen wird.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger slowRequestLog = LoggerFactory.getLogger("slow-requests");
+
+    static final String HEADER = "Server-Timing";
+
+    private final boolean headerEnabled;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    public ServerTimingFilter(
+            @Value("${quiz.server-timing.header-enabled:false}") boolean headerEnabled,
+            @Value("${quiz.server-timing.slow-request-threshold:0}") Duration slowThreshold,
+            @Value("${quiz.server-timing.sample-rate:1.0}") double sampleRate) {
+        this.headerEnabled = headerEnabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean logSlow = slowThresholdNanos > 0
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        if (!headerEnabled && !logSlow) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.begin();
+        ServerTimingResponseWrapper wrapped = headerEnabled ? new ServerTimingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            RequestTimings.end();
+            long totalNanos = timings.elapsedNanos();
+
+            if (wrapped != null) {
+                wrapped.complete(timings.toServerTimingHeader(totalNanos), request.isAsyncStarted());
+            }
+            if (logSlow && totalNanos >= slowThresholdNanos) {
+                slowRequestLog.warn("{} {} {} ms (status {}): {}",
+                        request.getMethod(), request.getRequestURI(),
+                        String.format(Locale.ROOT, "%.1f", totalNanos / 1_000_000.0), response.getStatus(),
+                        timings.toBreakdown());
+            }
+        }
+    }
+}
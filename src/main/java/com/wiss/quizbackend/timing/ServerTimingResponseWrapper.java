@@ -0,0 +1,132 @@
+package com.wiss.quizbackend.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Puffert die Antwort für den Server-Timing Header - aber nur, wenn es sich lohnt.
+ * <p>
+ * Entschieden wird beim ersten Schreiben (getOutputStream/getWriter/flushBuffer),
+ * dann steht der Content-Type fest:
+ * - JSON, CBOR, Text, ...: in einen ContentCachingResponseWrapper, der Header kommt am Ende dazu
+ * - Streams (application/octet-stream wie der .jfr-Download, text/event-stream, NDJSON):
+ *   direkt an den Client, ohne Header - sonst läge z.B. eine ganze JFR-Datei im Speicher
+ *   und der Client bekäme das erste Byte erst ganz am Schluss
+ * </p>
+ * Analogie: Briefe sammelt die Poststelle und stempelt sie vor dem Versand,
+ * Pakete gehen direkt auf den Lastwagen.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_OCTET_STREAM,
+            MediaType.TEXT_EVENT_STREAM,
+            MediaType.APPLICATION_NDJSON);
+
+    private boolean decided;
+    private ContentCachingResponseWrapper buffer;
+
+    ServerTimingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        return target().getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        return target().getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        target().flushBuffer();
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        current().setContentLength(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        current().setContentLengthLong(len);
+    }
+
+    @Override
+    public void resetBuffer() {
+        current().resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        current().reset();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        current().sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        current().sendError(sc, msg);
+    }
+
+    /**
+     * Nach dem Request: Header setzen (falls noch möglich) und den Puffer an den Client schicken.
+     * Wurde ein asynchroner Request gestartet und noch nichts geschrieben, gehen spätere
+     * Ausgaben ungepuffert durch - der Filter ist dann schon fertig.
+     *
+     * @param serverTimingHeader Wert für den Server-Timing Header
+     * @param asyncStarted true wenn die Antwort später auf einem anderen Thread geschrieben wird
+     */
+    void complete(String serverTimingHeader, boolean asyncStarted) throws IOException {
+        if (!decided && asyncStarted) {
+            decided = true;
+        }
+        HttpServletResponse response = current();
+        if (!response.isCommitted()) {
+            response.setHeader(ServerTimingFilter.HEADER, serverTimingHeader);
+        }
+        if (buffer != null) {
+            buffer.copyBodyToResponse();
+        }
+    }
+
+    private HttpServletResponse target() {
+        if (!decided) {
+            decided = true;
+            if (!isStreaming(getContentType())) {
+                buffer = new ContentCachingResponseWrapper((HttpServletResponse) getResponse());
+            }
+        }
+        return current();
+    }
+
+    private HttpServletResponse current() {
+        return buffer != null ? buffer : (HttpServletResponse) getResponse();
+    }
+
+    private static boolean isStreaming(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return STREAMING_TYPES.stream().anyMatch(streaming -> streaming.includes(mediaType));
+        } catch (InvalidMediaTypeException e) {
+            return false;  // Unbekanntes Format → wie bisher puffern
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.wiss.quizbackend.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messpunkte für RequestTimings, die nicht im eigenen Code liegen:
+ * <p>
+ * - db: Spring Data meldet jeden Repository-Aufruf an einen Invocation Listener
+ *   (derselbe Mechanismus, über den Actuator spring.data.repository.invocations misst)
+ * - serialization: Jackson-Converter, der das Schreiben der Antwort misst.
+ *   Ersetzt den Standard-Converter von Spring Boot (gleiche Konfiguration, gleicher ObjectMapper).
+ * </p>
+ */
+@Configuration
+public class TimingConfig {
+
+    /**
+     * Hängt an jedes Repository einen Listener, der die Dauer als "db" einträgt.
+     * static: BeanPostProcessors werden vor allen anderen Beans erzeugt.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> RequestTimings.record("db",
+                                    invocation.getRepositoryInterface().getSimpleName()
+                                            + "." + invocation.getMethod().getName(),
+                                    invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Jackson-Converter mit Zeitmessung - sonst identisch mit dem Standard.
+     */
+    static class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long start = RequestTimings.start();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTimings.record("serialization", start);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+-- ========================================
+-- V1: Ausgangsschema (Stand vor Flyway)
+-- ========================================
+-- Entspricht dem Schema, das Hibernate mit ddl-auto=update aus den
+-- urspruenglichen Entities AppUser, Question und GameSession erzeugt hat
+-- (IDENTITY-Spalten, noch ohne Archiv, Sequences und Tokens).
+--
+-- Bestehende Datenbanken: NICHT ausfuehren. Flyway markiert sie beim ersten
+-- Start mit Profil "prod" als Version 1 (spring.flyway.baseline-on-migrate),
+-- danach laufen V2, V3, ... und bringen sie auf den aktuellen Stand.
+--
+-- Neue Datenbanken: Flyway fuehrt dieses Skript und alle folgenden aus.
+--
+-- Schemaaenderungen ab jetzt NUR noch als neue Datei V<n>__beschreibung.sql,
+-- nie eine bereits ausgerollte Migration aendern (Flyway prueft die Checksumme).
+-- Nur-PostgreSQL-Teile (DO-Bloecke, setval) liegen in db/postgresql.
+--
+-- Laeuft auf PostgreSQL und auf H2 im PostgreSQL-Modus (Startzeit-Messung, FlywayMigrationTest).
+
+CREATE TABLE app_users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(50)  NOT NULL,
+    email    VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT app_users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_app_users_username UNIQUE (username),
+    CONSTRAINT app_users_role_check CHECK (role IN ('ADMIN', 'PLAYER'))
+);
+
+CREATE TABLE questions (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    question           VARCHAR(128) NOT NULL,
+    correct_answer     VARCHAR(255) NOT NULL,
+    category           VARCHAR(64)  NOT NULL,
+    difficulty         VARCHAR(32)  NOT NULL,
+    created_by_user_id BIGINT,
+    CONSTRAINT questions_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_questions_created_by FOREIGN KEY (created_by_user_id) REFERENCES app_users (id)
+);
+
+CREATE TABLE question_incorrect_answers (
+    question_id      BIGINT NOT NULL,
+    incorrect_answer VARCHAR(255),
+    CONSTRAINT fk_question_incorrect_answers_question FOREIGN KEY (question_id) REFERENCES questions (id)
+);
+
+CREATE TABLE game_sessions (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id         BIGINT       NOT NULL,
+    category        VARCHAR(64)  NOT NULL,
+    correct_answers INTEGER      NOT NULL,
+    total_questions INTEGER      NOT NULL,
+    total_score     INTEGER      NOT NULL,
+    played_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT game_sessions_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,32 @@
+-- ========================================
+-- V2: Archiv und Tages-Rollups fuer Game Sessions
+-- ========================================
+-- GameSessionArchiveService verschiebt alte Sessions nach game_sessions_archive
+-- und fasst sie pro User/Kategorie/Tag in game_session_rollups zusammen.
+
+-- Archiv-Job sucht die aeltesten Sessions (MIN/played_at < cutoff)
+CREATE INDEX idx_game_sessions_played_at ON game_sessions (played_at);
+
+-- Archiv: IDs werden aus game_sessions uebernommen, deshalb kein Generator
+CREATE TABLE game_sessions_archive (
+    id              BIGINT       NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    category        VARCHAR(64)  NOT NULL,
+    correct_answers INTEGER      NOT NULL,
+    total_questions INTEGER      NOT NULL,
+    total_score     INTEGER      NOT NULL,
+    played_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT game_sessions_archive_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_game_sessions_archive_user_played ON game_sessions_archive (user_id, played_at);
+
+CREATE TABLE game_session_rollups (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id      BIGINT      NOT NULL,
+    category     VARCHAR(64) NOT NULL,
+    period_start DATE        NOT NULL,
+    games_played BIGINT      NOT NULL,
+    total_score  BIGINT      NOT NULL,
+    CONSTRAINT game_session_rollups_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_game_session_rollups_user_category_period UNIQUE (user_id, category, period_start)
+);
@@ -0,0 +1,8 @@
+-- ========================================
+-- V3: Indizes fuer die Spielhistorie (Keyset-Pagination)
+-- ========================================
+-- GET /api/game/history blaettert pro User ueber den Cursor (played_at, id),
+-- optional gefiltert nach Kategorie.
+
+CREATE INDEX idx_game_sessions_user_played ON game_sessions (user_id, played_at, id);
+CREATE INDEX idx_game_sessions_user_category_played ON game_sessions (user_id, category, played_at, id);
@@ -0,0 +1,20 @@
+-- ========================================
+-- V4: IDENTITY-Spalten -> Sequences mit pooled-lo Allocation
+-- ========================================
+-- Hibernate holt IDs blockweise (ein nextval() pro IdAllocation.BLOCK_SIZE Zeilen),
+-- damit Inserts gebatcht werden koennen.
+--
+-- WICHTIG: INCREMENT BY muss IdAllocation.BLOCK_SIZE entsprechen (50).
+--
+-- Bestehende Daten: die Sequences starten bei 1 und werden danach auf PostgreSQL
+-- von V4_1 (db/postgresql) hinter die hoechste vorhandene ID gesetzt.
+
+CREATE SEQUENCE app_users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE questions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_sessions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE game_session_rollups_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE app_users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE questions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE game_sessions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE game_session_rollups ALTER COLUMN id DROP IDENTITY;
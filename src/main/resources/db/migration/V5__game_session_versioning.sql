@@ -0,0 +1,8 @@
+-- ========================================
+-- V5: Optimistic Locking und Abschlusszeitpunkt fuer Game Sessions
+-- ========================================
+-- version: @Version in GameSession, bestehende Zeilen starten bei 0
+-- finished_at: NULL solange die Session laeuft
+
+ALTER TABLE game_sessions ADD COLUMN finished_at TIMESTAMP(6);
+ALTER TABLE game_sessions ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- ========================================
+-- V6: E-Mail eindeutig machen
+-- ========================================
+-- AppUserService.registerUser verlaesst sich auf die Datenbank:
+-- doppelte Usernames/E-Mails werden am Constraint-Namen erkannt.
+--
+-- ACHTUNG: Existieren bereits doppelte E-Mails, schlaegt die Migration fehl.
+-- Vorher pruefen mit:
+--   SELECT lower(email), COUNT(*) FROM app_users GROUP BY lower(email) HAVING COUNT(*) > 1;
+
+ALTER TABLE app_users ADD CONSTRAINT uk_app_users_email UNIQUE (email);
@@ -0,0 +1,21 @@
+-- ========================================
+-- V7: Refresh Tokens (Rotation mit Token-Familien)
+-- ========================================
+-- Gespeichert wird nur der SHA-256 Hash des Tokens, nie das Token selbst.
+
+CREATE SEQUENCE refresh_tokens_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT       NOT NULL,
+    token_hash BYTEA        NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    family_id  UUID         NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6),
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES app_users (id)
+);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,20 @@
+-- ========================================
+-- V8: Gesperrte Access Tokens
+-- ========================================
+-- revoked_tokens: einzelne Tokens (Logout), per jti
+-- user_token_revocations: alle Tokens eines Users vor einem Zeitpunkt (z.B. Passwortwechsel)
+
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(36)                 NOT NULL,
+    user_id    BIGINT,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT revoked_tokens_pkey PRIMARY KEY (jti)
+);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE TABLE user_token_revocations (
+    user_id        BIGINT                      NOT NULL,
+    revoked_before TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT user_token_revocations_pkey PRIMARY KEY (user_id)
+);
@@ -0,0 +1,18 @@
+-- ========================================
+-- V4.1 (nur PostgreSQL): Sequences hinter die vorhandenen IDs setzen
+-- ========================================
+-- Auf einer bestehenden Datenbank liefern die neuen Sequences sonst IDs,
+-- die es schon gibt.
+--
+-- setval(..., MAX(id) + 51, false): der naechste nextval() liefert MAX(id) + 51.
+-- Damit ist der erste Block sowohl fuer "pooled-lo" (nextval ... nextval + 49)
+-- als auch fuer "pooled" (nextval - 49 ... nextval) garantiert frei.
+-- Bei anderer IdAllocation.BLOCK_SIZE alle "51" anpassen (BLOCK_SIZE + 1).
+
+SELECT setval('app_users_seq', COALESCE((SELECT MAX(id) FROM app_users), 0) + 51, false);
+SELECT setval('questions_seq', COALESCE((SELECT MAX(id) FROM questions), 0) + 51, false);
+-- Archivierte Sessions behalten ihre ID → auch das Archiv beruecksichtigen
+SELECT setval('game_sessions_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM game_sessions), 0),
+        COALESCE((SELECT MAX(id) FROM game_sessions_archive), 0)) + 51, false);
+SELECT setval('game_session_rollups_seq', COALESCE((SELECT MAX(id) FROM game_session_rollups), 0) + 51, false);
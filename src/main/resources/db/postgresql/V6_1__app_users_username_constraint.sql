@@ -0,0 +1,29 @@
+-- ========================================
+-- V6.1 (nur PostgreSQL): Unique-Constraint auf username benennen
+-- ========================================
+-- Datenbanken aus der Zeit vor Flyway haben fuer @Column(unique = true) einen
+-- automatisch benannten Constraint (z.B. uk_r43af9ap4edm43mmtq01oddj6).
+-- AppUserService erkennt doppelte Usernames aber an uk_app_users_username.
+-- Auf neuen Datenbanken (V1 ausgefuehrt) ist nichts zu tun.
+
+DO $$
+DECLARE
+    old_name text;
+BEGIN
+    FOR old_name IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = 'app_users'::regclass
+          AND c.contype = 'u'
+          AND a.attname = 'username'
+          AND array_length(c.conkey, 1) = 1
+          AND c.conname <> 'uk_app_users_username'
+    LOOP
+        EXECUTE format('ALTER TABLE app_users DROP CONSTRAINT %I', old_name);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_app_users_username') THEN
+        ALTER TABLE app_users ADD CONSTRAINT uk_app_users_username UNIQUE (username);
+    END IF;
+END $$;
@@ -0,0 +1,104 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark: Insert-Durchsatz für GameSessions und Questions.
+ * <p>
+ * Läuft NICHT im normalen Build, nur mit:
+ * ./mvnw -Pbenchmark test -Dtest=InsertThroughputBenchmark
+ * </p>
+ * Vorher/Nachher vergleichen:
+ * - Nachher (Sequence + pooled-lo + Batching): Standard-Aufruf
+ * - Vorher (IDENTITY-Spalten wie vor der Umstellung): -Dbench.ids=identity
+ *   → META-INF/bench-identity-orm.xml überschreibt @GeneratedValue, Hibernate
+ *   muss jeden INSERT einzeln schicken, um die ID zurückzulesen
+ * <p>
+ * Weitere Parameter: -Dbench.rows=10000 -Dbench.rounds=5 -Dbench.batch-size=50
+ * </p>
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=${bench.batch-size:50}")
+@ActiveProfiles("test")
+public class InsertThroughputBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(InsertThroughputBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 10_000);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 5);
+    private static final String IDS = System.getProperty("bench.ids", "sequence");
+
+    @DynamicPropertySource
+    static void idStrategy(DynamicPropertyRegistry registry) {
+        if ("identity".equals(IDS)) {
+            registry.add("spring.jpa.mapping-resources", () -> "META-INF/bench-identity-orm.xml");
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Test
+    public void gameSessionInsertThroughput() {
+        measure("GameSession", i -> new GameSession((long) (i % 100), "sports", i % 10, 10, (i % 10) * 10),
+                gameSessionRepository::saveAll);
+    }
+
+    @Test
+    public void questionInsertThroughput() {
+        measure("Question", i -> new Question("Frage " + i, "Richtig",
+                        List.of("Falsch 1", "Falsch 2", "Falsch 3"), "science", "easy", null),
+                questionRepository::saveAll);
+    }
+
+    private <T> void measure(String name, IntFunction<T> factory, Saver<T> saver) {
+        // Erste Runde = Warm-up (JIT, Connection Pool, Sequence-Blöcke)
+        for (int round = 0; round <= ROUNDS; round++) {
+            List<T> batch = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                batch.add(factory.apply(i));
+            }
+
+            long start = System.nanoTime();
+            saver.saveAll(batch);
+            entityManager.flush();
+            long elapsed = System.nanoTime() - start;
+            entityManager.clear();
+
+            if (round > 0) {
+                double rowsPerSecond = ROWS / (elapsed / 1_000_000_000.0);
+                log.info("[benchmark] {} insert ({}): round {}, {} rows in {} ms → {} rows/s",
+                        name, IDS, round, ROWS, String.format("%.1f", elapsed / 1_000_000.0),
+                        String.format("%.0f", rowsPerSecond));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Saver<T> {
+        void saveAll(List<T> entities);
+    }
+}
@@ -0,0 +1,66 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.security.VerifiedToken;
+import com.wiss.quizbackend.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: JwtService - Token ausstellen (Login/Refresh) und prüfen (jeder Request).
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=JwtServiceBenchmark
+ * </p>
+ * - generateToken: Claims + HMAC-SHA256 + Base64
+ * - verifyValid: gültiger Token (der Normalfall)
+ * - verifyTampered: manipulierte Signatur (Exception-Pfad)
+ * Vergleich mit dem früheren Dreifach-Parsen: JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJmhOnly1234567890abcdef";
+
+    private JwtService jwtService;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 900000L);
+        token = jwtService.generateToken(42L, "benchmark-user", "PLAYER");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        tamperedToken = token.substring(0, signatureStart) + replaced + token.substring(signatureStart + 1);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(42L, "benchmark-user", "PLAYER");
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyValid() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyTampered() {
+        return jwtService.verify(tamperedToken);
+    }
+}
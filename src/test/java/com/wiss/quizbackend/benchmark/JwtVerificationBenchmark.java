@@ -0,0 +1,84 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.security.VerifiedToken;
+import com.wiss.quizbackend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: Kosten der Token-Prüfung pro Request.
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=JwtVerification
+ * </p>
+ * Vergleich:
+ * - legacyTripleParse: Ablauf wie früher im JwtAuthenticationFilter
+ *   (extractUsername + validateToken = 3x parsen, Key jedes Mal neu gebaut)
+ * - verifyOnce: JwtService.verify() mit einmal gebautem Key und Parser
+ * <p>
+ * 10 Warm-up-Runden: legacyTripleParse braucht so lange, bis der JIT fertig ist
+ * (mit 3 Runden schwankten die Messwerte zwischen 0.5 und 1.4 ms).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJmhOnly1234567890abcdef";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3600000L);
+        token = jwtService.generateToken(42L, "benchmark-user", "PLAYER");
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        // extractUsername()
+        String username = legacyClaims(token).getSubject();
+        // validateToken() → extractUsername() + extractExpiration()
+        String extractedUsername = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return extractedUsername.equals(username) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    /**
+     * Nachbau des früheren JwtService.extractAllClaims():
+     * Key und Parser werden bei jedem Aufruf neu gebaut.
+     */
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,77 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.dto.LeaderboardDTO;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import com.wiss.quizbackend.service.LeaderboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: Leaderboard-Aufbereitung (transformToLeaderboardDTOs).
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=LeaderboardBenchmark
+ * </p>
+ * Gemessen über die öffentlichen Methoden getTop10Players / getTop10PlayersByCategory,
+ * die Repositories sind In-Memory-Attrappen (RepositoryStubs). Damit zählt nur
+ * die Java-Seite: Object[] auspacken, Username nachschlagen, DTOs bauen.
+ * In Produktion kommt pro Zeile ein findById dazu - das misst dieser Benchmark bewusst NICHT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private LeaderboardService leaderboardService;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            // userId, totalScore, gamesPlayed - wie die Aggregations-Query
+            rows.add(new Object[]{userId, 1000L - userId * 10, 20L + userId});
+        }
+
+        LeaderboardRepository leaderboardRepository = RepositoryStubs.stub(LeaderboardRepository.class, Map.of(
+                "findTop10Players", args -> rows,
+                "findTop10PlayersByCategory", args -> rows));
+        AppUserRepository appUserRepository = RepositoryStubs.stub(AppUserRepository.class, Map.of(
+                "findById", args -> {
+                    AppUser user = new AppUser("player" + args[0], "player" + args[0] + "@test.ch",
+                            "x", Role.PLAYER);
+                    user.setId((Long) args[0]);
+                    return Optional.of(user);
+                }));
+
+        leaderboardService = new LeaderboardService(leaderboardRepository, appUserRepository);
+    }
+
+    @Benchmark
+    public List<LeaderboardDTO> top10Global() {
+        return leaderboardService.getTop10Players();
+    }
+
+    @Benchmark
+    public List<LeaderboardDTO> top10ByCategory() {
+        return leaderboardService.getTop10PlayersByCategory("sports");
+    }
+}
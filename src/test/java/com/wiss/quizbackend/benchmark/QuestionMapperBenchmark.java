@@ -0,0 +1,72 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.dto.QuestionDTO;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: QuestionMapper (läuft bei jeder Quiz-Runde für alle Fragen).
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=QuestionMapper
+ * </p>
+ * - toDTO: eine Frage, inkl. Antworten mischen (Collections.shuffle)
+ * - toDTOList: eine ganze Runde mit {@code size} Fragen
+ * - toEntity: Rückweg vom Formular (korrekte Antwort herausfiltern)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionMapperBenchmark {
+
+    @Param({"10", "50"})
+    private int size;
+
+    private Question question;
+    private List<Question> questions;
+    private QuestionDTO dto;
+
+    @Setup
+    public void setUp() {
+        questions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            questions.add(new Question((long) i, "Welche Stadt ist die Hauptstadt von Land " + i + "?",
+                    "Stadt " + i, List.of("Falsch A" + i, "Falsch B" + i, "Falsch C" + i),
+                    "geography", "medium", null));
+        }
+        question = questions.get(0);
+        dto = QuestionMapper.toDTO(question);
+    }
+
+    @Benchmark
+    public QuestionDTO toDTO() {
+        return QuestionMapper.toDTO(question);
+    }
+
+    @Benchmark
+    public List<QuestionDTO> toDTOList() {
+        return QuestionMapper.toDTOList(questions);
+    }
+
+    @Benchmark
+    public Question toEntity() {
+        return QuestionMapper.toEntity(dto);
+    }
+}
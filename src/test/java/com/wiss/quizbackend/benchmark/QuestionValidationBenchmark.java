@@ -0,0 +1,67 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.exception.CategoryNotFoundException;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import com.wiss.quizbackend.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: Validierung von Kategorie und Schwierigkeit in QuestionService.
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=QuestionValidation
+ * </p>
+ * Das Repository ist eine Attrappe (leere Liste) - gemessen wird die Validierung:
+ * - validCategory / validDifficulty: der Normalfall
+ * - unknownCategory: CategoryNotFoundException (inkl. Stacktrace)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionValidationBenchmark {
+
+    private QuestionService questionService;
+
+    @Setup
+    public void setUp() {
+        QuestionRepository repository = RepositoryStubs.stub(QuestionRepository.class, Map.of(
+                "findByCategory", args -> List.of(),
+                "findByDifficulty", args -> List.of()));
+        questionService = new QuestionService(repository);
+    }
+
+    @Benchmark
+    public List<Question> validCategory() {
+        return questionService.getQuestionsByCategory("Geography");
+    }
+
+    @Benchmark
+    public List<Question> validDifficulty() {
+        return questionService.getQuestionsByDifficulty("hard");
+    }
+
+    @Benchmark
+    public Object unknownCategory() {
+        try {
+            return questionService.getQuestionsByCategory("astrology");
+        } catch (CategoryNotFoundException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.security.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark: Zusatzkosten des RateLimiters für einen erlaubten Request.
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=RateLimiter
+ * </p>
+ * Das Limit ist so hoch gesetzt, dass jeder Aufruf erlaubt wird - gemessen
+ * wird also der normale Weg (Map-Lookup + compareAndSet), mit 8 Threads
+ * auf 10'000 verschiedenen Client-IPs. Ziel: deutlich unter 1 µs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter rateLimiter;
+    private String[] clientIps;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1), 1_000_000, System::nanoTime);
+        clientIps = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientIps[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long allowedRequest() {
+        String ip = clientIps[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return rateLimiter.tryAcquire(ip);
+    }
+}
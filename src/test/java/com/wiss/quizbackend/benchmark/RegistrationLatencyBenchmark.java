@@ -0,0 +1,164 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.wiss.quizbackend.cache.AppUserCache;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.service.AppUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark: Registrierung und E-Mail-Lookup bei vielen Usern.
+ * <p>
+ * Läuft NICHT im normalen Build, nur mit:
+ * ./mvnw -Pbenchmark test -Dtest=RegistrationLatencyBenchmark
+ * </p>
+ * Vergleich bei 1'000'000 bestehenden Usern:
+ * - legacy: existsByUsername + existsByEmail + save (drei Roundtrips)
+ * - single insert: AppUserService.registerUser (ein INSERT, Unique-Index entscheidet)
+ * - findByEmail: Lookup über den Index von uk_app_users_email
+ * <p>
+ * Das Passwort wird NICHT gehasht (Klartext-Encoder) - gemessen wird nur die Datenbank.
+ * Weitere Parameter: -Dbench.users=1000000 -Dbench.samples=2000
+ * </p>
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AppUserService.class, AppUserCache.class, RegistrationLatencyBenchmark.PlainEncoderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)  // Seed-Daten müssen committed sein
+public class RegistrationLatencyBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationLatencyBenchmark.class);
+
+    private static final int USERS = Integer.getInteger("bench.users", 1_000_000);
+    private static final int SAMPLES = Integer.getInteger("bench.samples", 2_000);
+    private static final int SEED_BATCH = 10_000;
+    private static final long SEED_ID_OFFSET = 100_000_000L;  // weit weg von den Sequence-IDs
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @BeforeEach
+    void seedUsers() {
+        long start = System.nanoTime();
+        String sql = "INSERT INTO app_users (id, username, email, password, role) VALUES (?, ?, ?, ?, ?)";
+        for (int from = 0; from < USERS; from += SEED_BATCH) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(from + SEED_BATCH, USERS); i++) {
+                rows.add(new Object[]{SEED_ID_OFFSET + i, "seed" + i, "seed" + i + "@test.ch", "x", "PLAYER"});
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        log.info("[benchmark] seeded {} users in {} s",
+                USERS, String.format("%.1f", (System.nanoTime() - start) / 1_000_000_000.0));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM app_users");
+    }
+
+    @Test
+    public void registrationAndLookupLatency() {
+        measure("legacy exists+exists+save", i -> {
+            String username = "legacy" + i;
+            String email = username + "@test.ch";
+            if (!userRepository.existsByUsername(username) && !userRepository.existsByEmail(email)) {
+                userRepository.save(new AppUser(username, email, "x", Role.PLAYER));
+            }
+        });
+
+        measure("single insert (registerUser)", i ->
+                appUserService.registerUser("single" + i, "single" + i + "@test.ch", "x", Role.PLAYER));
+
+        measure("duplicate email rejected", i -> {
+            try {
+                appUserService.registerUser("dup" + i, "seed" + i + "@test.ch", "x", Role.PLAYER);
+            } catch (IllegalArgumentException expected) {
+                // erwartet: E-Mail bereits registriert
+            }
+        });
+
+        measure("findByEmail", i -> userRepository.findByEmail("seed" + (i * 499L % USERS) + "@test.ch"));
+    }
+
+    private void measure(String name, Operation operation) {
+        // Warm-up (JIT, Connection Pool, Sequence-Blöcke) mit eigenen Keys
+        for (int i = 0; i < SAMPLES / 4; i++) {
+            operation.run(SAMPLES * 10 + i);
+        }
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            operation.run(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        log.info("[benchmark] {} @ {} users: p50 {} ms, p99 {} ms, max {} ms", name, USERS,
+                millis(percentile(nanos, 0.50)), millis(percentile(nanos, 0.99)), millis(nanos[nanos.length - 1]));
+    }
+
+    private static long percentile(long[] sortedNanos, double p) {
+        int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i);
+    }
+
+    /**
+     * Klartext-"Encoder": BCrypt würde die Datenbank-Latenz völlig überdecken.
+     */
+    @TestConfiguration
+    static class PlainEncoderConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return rawPassword.toString();
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return rawPassword.toString().equals(encodedPassword);
+                }
+            };
+        }
+    }
+}
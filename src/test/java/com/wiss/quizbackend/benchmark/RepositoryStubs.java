@@ -0,0 +1,41 @@
+package com.wiss.quizbackend.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimale Repository-Attrappen für JMH Benchmarks.
+ * <p>
+ * Ein Mockito-Mock würde bei jedem Aufruf Interaktionen aufzeichnen und damit
+ * mehr kosten als der gemessene Code. Hier beantwortet ein Proxy nur die
+ * Methoden, die der Benchmark braucht - alle anderen werfen eine Exception.
+ * </p>
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    /**
+     * @param type Das Repository-Interface
+     * @param answers Methodenname → Antwort (bekommt die Argumente)
+     * @return Eine Attrappe des Repositories
+     */
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> {
+                        Function<Object[], Object> answer = answers.get(method.getName());
+                        if (answer == null) {
+                            throw new UnsupportedOperationException(method.getName() + " not stubbed");
+                        }
+                        yield answer.apply(args);
+                    }
+                });
+        return type.cast(proxy);
+    }
+}
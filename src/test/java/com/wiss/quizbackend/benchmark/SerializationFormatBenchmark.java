@@ -0,0 +1,128 @@
+package com.wiss.quizbackend.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.wiss.quizbackend.dto.LeaderboardDTO;
+import com.wiss.quizbackend.dto.QuestionDTO;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.mapper.QuestionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JMH Benchmark: Antwortformate JSON, CBOR und Smile (siehe BinaryFormatsConfig).
+ * <p>
+ * Start: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=SerializationFormat
+ * </p>
+ * - serialize/deserialize: CPU-Zeit pro Antwort
+ * - serializeGzip: dazu die Kompression, wie sie Tomcat über server.compression macht
+ * <p>
+ * Payload-Grössen (roh und gzip) werden beim Setup einmal geloggt -
+ * die sind deterministisch, dafür braucht es keine Messung.
+ * </p>
+ * Payloads wie in Produktion: eine Quiz-Runde bzw. der ganze Katalog (/api/questions/random, /api/questions)
+ * und das Top-10 Leaderboard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SerializationFormatBenchmark.class);
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"round", "catalog", "leaderboard"})
+    private String payload;
+
+    private ObjectMapper mapper;
+    private Object value;
+    private JavaType valueType;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        if ("leaderboard".equals(payload)) {
+            value = leaderboard();
+            valueType = mapper.getTypeFactory().constructCollectionType(List.class, LeaderboardDTO.class);
+        } else {
+            value = QuestionMapper.toDTOList(questions("round".equals(payload) ? 10 : 600));
+            valueType = mapper.getTypeFactory().constructCollectionType(List.class, QuestionDTO.class);
+        }
+        serialized = mapper.writeValueAsBytes(value);
+        log.info("[payload] {} {}: {} bytes, gzip {} bytes",
+                format, payload, serialized.length, gzip(serialized).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(value));
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return mapper.readValue(serialized, valueType);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Question> questions(int count) {
+        String[] categories = {"sports", "games", "movies", "geography", "science", "history"};
+        List<Question> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            questions.add(new Question((long) i, "Welche Stadt ist die Hauptstadt von Land " + i + "?",
+                    "Stadt " + i, List.of("Falsch A" + i, "Falsch B" + i, "Falsch C" + i),
+                    categories[i % categories.length], "medium", null));
+        }
+        return questions;
+    }
+
+    private static List<LeaderboardDTO> leaderboard() {
+        List<LeaderboardDTO> top10 = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            top10.add(new LeaderboardDTO((long) i, "player" + i, 120L - i, 9_000L - i * 250L));
+        }
+        return top10;
+    }
+}
@@ -0,0 +1,124 @@
+package com.wiss.quizbackend.cache;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für den AppUserCache.
+ * Kernaussage: Wiederholte Abfragen kommen aus dem Cache,
+ * jede Änderung an einem User räumt seine Einträge sofort ab.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AppUserCache.class)
+public class AppUserCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private AppUserCache appUserCache;
+
+    /**
+     * Test 1: Zweite Abfrage kommt aus dem Cache, als eigene Kopie
+     */
+    @Test
+    public void whenSameUserIsLoadedTwice_thenSecondCallHitsCache() {
+        // Arrange
+        persistUser("alice", "alice@test.ch");
+        long hitsBefore = appUserCache.usernameStats().hitCount();
+
+        // Act
+        AppUser first = appUserCache.findByUsername("alice").orElseThrow();
+        AppUser second = appUserCache.findByUsername("alice").orElseThrow();
+
+        // Assert
+        assertThat(appUserCache.usernameStats().hitCount()).isEqualTo(hitsBefore + 1);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getEmail()).isEqualTo("alice@test.ch");
+        assertThat(second).isNotSameAs(first);
+    }
+
+    /**
+     * Test 2: E-Mail geändert - alte E-Mail findet den User nicht mehr
+     */
+    @Test
+    public void whenUserIsUpdated_thenOldEntriesAreEvicted() {
+        // Arrange
+        AppUser user = persistUser("bob", "bob@old.ch");
+        assertThat(appUserCache.findByEmail("bob@old.ch")).isPresent();
+        assertThat(appUserCache.findByUsername("bob")).isPresent();
+
+        // Act
+        user.setEmail("bob@new.ch");
+        userRepository.saveAndFlush(user);
+
+        // Assert
+        assertThat(appUserCache.findByEmail("bob@old.ch")).isEmpty();
+        assertThat(appUserCache.findByUsername("bob"))
+                .map(AppUser::getEmail)
+                .contains("bob@new.ch");
+    }
+
+    /**
+     * Test 3: User gelöscht - wird nicht mehr gefunden
+     */
+    @Test
+    public void whenUserIsDeleted_thenCacheNoLongerReturnsIt() {
+        // Arrange
+        AppUser user = persistUser("carol", "carol@test.ch");
+        assertThat(appUserCache.findByUsername("carol")).isPresent();
+
+        // Act
+        userRepository.delete(user);
+        entityManager.flush();
+
+        // Assert
+        Optional<AppUser> afterDelete = appUserCache.findByUsername("carol");
+        assertThat(afterDelete).isEmpty();
+    }
+
+    /**
+     * Test 4: Username geändert, User liegt unter beiden Schlüsseln im Cache -
+     * der Index findet den alten Username, ohne den Cache zu durchsuchen
+     */
+    @Test
+    public void whenUsernameChanges_thenOldUsernameIsEvictedViaIndex() {
+        // Arrange
+        AppUser user = persistUser("dave", "dave@test.ch");
+        int indexedBefore = appUserCache.indexedUsers();
+        assertThat(appUserCache.findByUsername("dave")).isPresent();
+        assertThat(appUserCache.findByEmail("dave@test.ch")).isPresent();
+        assertThat(appUserCache.indexedUsers()).isEqualTo(indexedBefore + 1);
+
+        // Act
+        user.setUsername("david");
+        userRepository.saveAndFlush(user);
+
+        // Assert
+        assertThat(appUserCache.findByUsername("dave")).isEmpty();
+        assertThat(appUserCache.findByEmail("dave@test.ch"))
+                .map(AppUser::getUsername)
+                .contains("david");
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private AppUser persistUser(String username, String email) {
+        return entityManager.persistAndFlush(new AppUser(username, email, "hash", Role.PLAYER));
+    }
+}
@@ -0,0 +1,123 @@
+package com.wiss.quizbackend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für die Einlasskontrolle vor der Datenbank.
+ * Die "Datenbank" ist eine Attrappe, die beliebig viele Connections liefert -
+ * begrenzt wird nur durch die ConcurrencyLimitedDataSource.
+ */
+public class ConcurrencyLimitedDataSourceTest {
+
+    private final AtomicInteger closedConnections = new AtomicInteger();
+
+    /**
+     * Test 1: close() gibt das Permit zurück - auch bei doppeltem close() nur einmal
+     */
+    @Test
+    public void whenConnectionIsClosed_thenPermitIsReturnedExactlyOnce() throws Exception {
+        // Arrange
+        ConcurrencyLimitedDataSource dataSource = limited(2, 10, Duration.ofSeconds(1));
+
+        // Act
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        assertThat(closedConnections.get()).isEqualTo(2);
+    }
+
+    /**
+     * Test 2: Alle Permits belegt - der nächste wartet und bekommt die frei werdende Connection
+     */
+    @Test
+    public void whenAllPermitsAreTaken_thenNextCallerWaitsForRelease() throws Exception {
+        // Arrange
+        ConcurrencyLimitedDataSource dataSource = limited(1, 10, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await();
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+        first.close();
+
+        // Assert
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(dataSource.waitingThreads()).isZero();
+    }
+
+    /**
+     * Test 3: Warteschlange voll → sofort abgewiesen, ohne zu warten
+     */
+    @Test
+    public void whenQueueIsFull_thenCallerIsRejectedImmediately() throws Exception {
+        // Arrange - 1 Permit, niemand darf warten
+        ConcurrencyLimitedDataSource dataSource = limited(1, 0, Duration.ofSeconds(30));
+        dataSource.getConnection();
+
+        // Act & Assert
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(dataSource.rejectedCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test 4: Keine Connection innerhalb des Timeouts → Exception, Zähler erhöht
+     */
+    @Test
+    public void whenNoPermitWithinTimeout_thenCallerGetsException() throws Exception {
+        // Arrange
+        ConcurrencyLimitedDataSource dataSource = limited(1, 10, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.timedOutCount()).isEqualTo(1);
+        assertThat(dataSource.waitingThreads()).isZero();
+    }
+
+    private ConcurrencyLimitedDataSource limited(int maxConnections, int maxWaiting, Duration timeout) {
+        DataSource target = (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> "getConnection".equals(method.getName()) ? fakeConnection() : null);
+        return new ConcurrencyLimitedDataSource(target, maxConnections, maxWaiting, timeout);
+    }
+
+    private Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        closedConnections.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+}
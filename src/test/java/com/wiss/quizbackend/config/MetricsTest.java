@@ -0,0 +1,93 @@
+package com.wiss.quizbackend.config;
+
+import com.wiss.quizbackend.service.JwtService;
+import com.wiss.quizbackend.service.LeaderboardService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration Tests für die Metriken.
+ * Prüft, dass HTTP-Endpoints und die eigenen Service-Timer (quiz.*)
+ * in der MeterRegistry landen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Test 1: Jeder Endpoint bekommt einen Timer mit seinem URI-Muster
+     */
+    @Test
+    public void whenEndpointIsCalled_thenHttpTimerIsRecorded() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/auth/test")).andExpect(status().isOk());
+
+        // Assert
+        Timer timer = meterRegistry.find("http.server.requests")
+                .tag("uri", "/api/auth/test")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * Test 2: JWT-Prüfung wird nach Resultat getrennt gemessen
+     */
+    @Test
+    public void whenTokenIsVerified_thenJwtTimerIsRecorded() {
+        // Arrange
+        String token = jwtService.generateToken(1L, "alice", "PLAYER");
+
+        // Act
+        jwtService.verify(token);
+        jwtService.verify("kein.gueltiger.token");
+
+        // Assert
+        assertThat(meterRegistry.get("quiz.jwt.verification").tag("result", "valid").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("quiz.jwt.verification").tag("result", "invalid").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * Test 3: Leaderboard-Aggregation und Passwort-Hashing haben eigene Timer
+     */
+    @Test
+    public void whenServicesRun_thenServiceTimersAreRecorded() {
+        // Act
+        leaderboardService.getTop10Players();
+        passwordEncoder.encode("geheim123");
+
+        // Assert
+        assertThat(meterRegistry.get("quiz.leaderboard.aggregation").tag("scope", "global").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("quiz.password.hashing").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "verified-tokens").meters()).isNotEmpty();
+    }
+}
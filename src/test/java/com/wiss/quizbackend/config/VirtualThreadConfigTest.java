@@ -0,0 +1,38 @@
+package com.wiss.quizbackend.config;
+
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Context-Test für die Einlasskontrolle vor der Datenbank.
+ * Die Test-Properties setzen spring.datasource.hikari.maximum-pool-size bewusst NICHT -
+ * genau wie eine Installation, die den Hikari-Default verwendet.
+ */
+@SpringBootTest
+public class VirtualThreadConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    /**
+     * Test 1: Ohne konfigurierte Poolgrösse → Hikari-Default 10, Datenbankzugriffe funktionieren
+     */
+    @Test
+    public void whenPoolSizeIsNotConfigured_thenLimitFallsBackToHikariDefault() {
+        // Assert
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitedDataSource.class);
+        ConcurrencyLimitedDataSource limited = (ConcurrencyLimitedDataSource) dataSource;
+        assertThat(limited.maxConnections()).isEqualTo(VirtualThreadConfig.DEFAULT_POOL_SIZE);
+        assertThat(questionRepository.count()).isNotNegative();
+        assertThat(limited.availablePermits()).isEqualTo(VirtualThreadConfig.DEFAULT_POOL_SIZE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.wiss.quizbackend.controller;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration Tests: Wie viele app_users-Abfragen kostet ein Login?
+ * Ein StatementInspector zählt jedes SELECT auf app_users, das Hibernate abschickt.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.wiss.quizbackend.controller.AuthControllerLoginQueryTest$AppUserSelectCounter")
+@AutoConfigureMockMvc
+public class AuthControllerLoginQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Test 1: Login mit Username → genau ein SELECT
+     */
+    @Test
+    public void whenLoginWithUsername_thenExactlyOneUserSelect() throws Exception {
+        // Arrange
+        AppUser user = createUser();
+        AppUserSelectCounter.reset();
+
+        // Act
+        login(user.getUsername());
+
+        // Assert
+        assertThat(AppUserSelectCounter.count()).isEqualTo(1);
+    }
+
+    /**
+     * Test 2: Login mit E-Mail → genau ein SELECT
+     */
+    @Test
+    public void whenLoginWithEmail_thenExactlyOneUserSelect() throws Exception {
+        // Arrange
+        AppUser user = createUser();
+        AppUserSelectCounter.reset();
+
+        // Act
+        login(user.getEmail());
+
+        // Assert
+        assertThat(AppUserSelectCounter.count()).isEqualTo(1);
+    }
+
+    /**
+     * Test 3: Zweiter Login desselben Users → kein SELECT mehr (AppUserCache)
+     */
+    @Test
+    public void whenSameUserLogsInAgain_thenNoUserSelect() throws Exception {
+        // Arrange
+        AppUser user = createUser();
+        login(user.getUsername());
+        AppUserSelectCounter.reset();
+
+        // Act
+        login(user.getUsername());
+
+        // Assert
+        assertThat(AppUserSelectCounter.count()).isZero();
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private AppUser createUser() {
+        String name = "login-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new AppUser(name, name + "@test.ch",
+                passwordEncoder.encode("secret123"), Role.PLAYER));
+    }
+
+    private void login(String usernameOrEmail) throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernameOrEmail\":\"" + usernameOrEmail + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Zählt SELECTs auf app_users (wird von Hibernate per Klassenname instanziert).
+     */
+    public static class AppUserSelectCounter implements StatementInspector {
+
+        private static final AtomicInteger SELECTS = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.toLowerCase(Locale.ROOT).trim();
+            if (normalized.startsWith("select") && normalized.contains("app_users")) {
+                SELECTS.incrementAndGet();
+            }
+            return sql;
+        }
+
+        static void reset() {
+            SELECTS.set(0);
+        }
+
+        static int count() {
+            return SELECTS.get();
+        }
+    }
+}
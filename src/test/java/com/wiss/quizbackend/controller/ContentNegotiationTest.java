@@ -0,0 +1,91 @@
+package com.wiss.quizbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests für die binären Antwortformate (siehe BinaryFormatsConfig).
+ * Gleicher Endpoint, das Format bestimmt allein der Accept-Header.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "player1", roles = {"PLAYER"})
+public class ContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @BeforeEach
+    void setUp() {
+        questionRepository.deleteAll();
+        questionRepository.save(new Question("Was ist 2 + 2?", "4", List.of("3", "5", "6"),
+                "mathematics", "easy", null));
+    }
+
+    /**
+     * Test 1: Accept: application/cbor → CBOR mit denselben Feldern wie JSON
+     */
+    @Test
+    public void whenAcceptIsCbor_thenResponseIsCbor() throws Exception {
+        // Act
+        byte[] body = mockMvc.perform(get("/api/questions").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode questions = new CBORMapper().readTree(body);
+        assertThat(questions).hasSize(1);
+        assertThat(questions.get(0).get("question").asText()).isEqualTo("Was ist 2 + 2?");
+        assertThat(questions.get(0).get("answers")).hasSize(4);
+    }
+
+    /**
+     * Test 2: Accept: application/x-jackson-smile → Smile
+     */
+    @Test
+    public void whenAcceptIsSmile_thenResponseIsSmile() throws Exception {
+        // Act
+        byte[] body = mockMvc.perform(get("/api/questions").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode questions = new SmileMapper().readTree(body);
+        assertThat(questions.get(0).get("category").asText()).isEqualTo("mathematics");
+    }
+
+    /**
+     * Test 3: Browser (Accept: *&#47;*) → weiterhin JSON
+     */
+    @Test
+    public void whenAcceptIsAnything_thenResponseStaysJson() throws Exception {
+        mockMvc.perform(get("/api/questions").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].question").value("Was ist 2 + 2?"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.wiss.quizbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration Tests für GET /api/game/history.
+ * Geprüft wird der ganze Weg: Request-Parameter → Service → Repositories → JSON.
+ * Jeder Test hat einen eigenen User, damit sich die Historien nicht mischen.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class GameSessionControllerHistoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private AppUser player;
+
+    @BeforeEach
+    void setUp() {
+        String name = "hist_" + UUID.randomUUID().toString().substring(0, 8);
+        player = userRepository.save(new AppUser(name, name + "@test.ch", "hash", Role.PLAYER));
+
+        // Drei Games, das neueste zuletzt gespeichert
+        saveSession("sports", BASE.minusDays(2), 300);
+        saveSession("math", BASE.minusDays(1), 500);
+        saveSession("sports", BASE, 700);
+    }
+
+    /**
+     * Test 1: Erste Seite - neueste zuerst, Cursor zeigt auf den letzten Eintrag
+     */
+    @Test
+    public void whenFirstPageIsRequested_thenNewestItemsAndCursorAreReturned() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/game/history").param("size", "2").with(user(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].category").value("sports"))
+                .andExpect(jsonPath("$.items[0].totalScore").value(700))
+                .andExpect(jsonPath("$.items[0].playedAt").value("2025-03-01T12:00:00"))
+                .andExpect(jsonPath("$.items[1].category").value("math"))
+                .andExpect(jsonPath("$.items[1].correctAnswers").value(5))
+                .andExpect(jsonPath("$.items[1].totalQuestions").value(10))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextBeforePlayedAt").value("2025-02-28T12:00:00"))
+                .andExpect(jsonPath("$.nextBeforeId").isNumber());
+    }
+
+    /**
+     * Test 2: Cursor der ersten Seite mitgeben → Rest der Historie, danach kein Cursor mehr
+     */
+    @Test
+    public void whenCursorIsPassed_thenNextPageContinuesAfterIt() throws Exception {
+        // Arrange
+        JsonNode firstPage = history("/api/game/history?size=2");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/game/history")
+                        .param("size", "2")
+                        .param("beforePlayedAt", firstPage.get("nextBeforePlayedAt").asText())
+                        .param("beforeId", firstPage.get("nextBeforeId").asText())
+                        .with(user(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].totalScore").value(300))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextBeforePlayedAt").doesNotExist())
+                .andExpect(jsonPath("$.nextBeforeId").doesNotExist());
+    }
+
+    /**
+     * Test 3: Filter nach Kategorie und Zeitraum (from inklusiv, to exklusiv)
+     */
+    @Test
+    public void whenCategoryAndRangeAreGiven_thenOnlyMatchingSessionsAreReturned() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/game/history")
+                        .param("category", "sports")
+                        .param("from", "2025-02-27T12:00:00")
+                        .param("to", "2025-03-01T12:00:00")
+                        .with(user(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].totalScore").value(300))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    /**
+     * Test 4: Seitengrösse 1 bis 100, alles andere ist ein Eingabefehler
+     */
+    @Test
+    public void whenSizeIsOutOfRange_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/game/history").param("size", "0").with(user(player)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_INPUT"));
+        mockMvc.perform(get("/api/game/history").param("size", "101").with(user(player)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/game/history").param("size", "100").with(user(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3));
+    }
+
+    /**
+     * Test 5: Halber Cursor (nur beforeId) → 400 statt stiller Fehlinterpretation
+     */
+    @Test
+    public void whenCursorIsIncomplete_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/api/game/history").param("beforeId", "42").with(user(player)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test 6: Ohne Login keine Historie
+     */
+    @Test
+    public void whenNotAuthenticated_thenForbidden() throws Exception {
+        mockMvc.perform(get("/api/game/history"))
+                .andExpect(status().isForbidden());
+    }
+
+    private void saveSession(String category, LocalDateTime playedAt, int totalScore) {
+        GameSession session = new GameSession(player.getId(), category, totalScore / 100, 10, totalScore);
+        session.setPlayedAt(playedAt);
+        gameSessionRepository.save(session);
+    }
+
+    private JsonNode history(String url) throws Exception {
+        String body = mockMvc.perform(get(url).with(user(player)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode page = objectMapper.readTree(body);
+        assertThat(page.get("hasMore").asBoolean()).isTrue();
+        return page;
+    }
+}
@@ -0,0 +1,125 @@
+package com.wiss.quizbackend.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für den GameEventBus: Verwerfen bei vollem Puffer und Zustellen beim Herunterfahren.
+ * Ohne Spring Context - der Bus wird von Hand gestartet und gestoppt.
+ */
+public class GameEventBusTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    /**
+     * Test 1: Puffer voll (Consumer läuft nicht) → überzählige Events werden verworfen und gezählt
+     */
+    @Test
+    public void whenBufferIsFull_thenEventsAreDroppedAndCounted() {
+        // Arrange
+        GameEventBus bus = bus(4);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            bus.publish(event(i));
+        }
+
+        // Assert
+        assertThat(bus.getPublishedCount()).isEqualTo(4);
+        assertThat(bus.getDroppedCount()).isEqualTo(6);
+        assertThat(bus.getQueueDepth()).isEqualTo(4);
+    }
+
+    /**
+     * Test 2: Mehrere Threads publizieren gleichzeitig in einen zu kleinen Puffer -
+     * jedes Event ist entweder publiziert oder verworfen, keines fehlt in der Zählung
+     */
+    @Test
+    public void whenSeveralThreadsPublishIntoFullBuffer_thenPublishedPlusDroppedMatches() throws Exception {
+        // Arrange
+        int producers = 4;
+        int eventsPerProducer = 1_000;
+        GameEventBus bus = bus(1_024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int firstId = p * eventsPerProducer;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = firstId; i < firstId + eventsPerProducer; i++) {
+                    bus.publish(event(i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(bus.getPublishedCount()).isEqualTo(1_024);
+        assertThat(bus.getDroppedCount()).isEqualTo(producers * eventsPerProducer - 1_024);
+    }
+
+    /**
+     * Test 3: stop() stellt alle Events zu, die schon im Puffer liegen
+     */
+    @Test
+    public void whenBusIsStopped_thenBufferedEventsAreStillDelivered() {
+        // Arrange - langsamer Listener, damit beim Stoppen noch Events im Puffer liegen
+        GameEventBus bus = bus(256);
+        List<GameEvent> delivered = new CopyOnWriteArrayList<>();
+        bus.subscribe(event -> {
+            delivered.add(event);
+            sleepQuietly(1);
+        });
+        bus.start();
+        for (int i = 0; i < 100; i++) {
+            bus.publish(event(i));
+        }
+
+        // Act
+        bus.stop();
+
+        // Assert
+        assertThat(bus.isRunning()).isFalse();
+        assertThat(delivered).hasSize(100);
+        assertThat(delivered.get(99)).isEqualTo(event(99));
+        assertThat(bus.getQueueDepth()).isZero();
+    }
+
+    private static GameEventBus bus(int bufferSize) {
+        // Keine Listener aus dem Context - die Tests registrieren ihre eigenen
+        return new GameEventBus(new StaticListableBeanFactory().getBeanProvider(GameEventListener.class),
+                bufferSize);
+    }
+
+    private static GameEvent event(long sessionId) {
+        return new GameStartedEvent(sessionId, 7L, "sports", 10, NOW);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.wiss.quizbackend.event;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration Test: Game-Events landen in der rotierenden Datei aus logback-spring.xml
+ * (in Tests: target/test-logs/game-events.log, siehe test application.properties).
+ */
+@SpringBootTest
+public class GameEventLogWriterTest {
+
+    @Autowired
+    private GameEventLogWriter gameEventLogWriter;
+
+    /**
+     * Test 1: Logger "game-events" schreibt nur in die rotierende Datei, nicht auf die Konsole
+     */
+    @Test
+    public void whenEventIsWritten_thenItEndsUpInTheRollingFile() throws Exception {
+        // Arrange
+        Logger logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("game-events");
+        RollingFileAppender<?> appender = (RollingFileAppender<?>) logger.getAppender("GAME_EVENTS");
+        long sessionId = System.nanoTime();
+
+        // Act
+        gameEventLogWriter.onEvent(new GameFinishedEvent(sessionId, 7L, "sports", 8, 10, 80,
+                Instant.parse("2025-06-01T10:15:30Z")));
+
+        // Assert
+        assertThat(logger.isAdditive()).isFalse();
+        assertThat(appender).isNotNull();
+        assertThat(appender.getFile()).endsWith("target/test-logs/game-events.log");
+        String content = Files.readString(Path.of(appender.getFile()), StandardCharsets.UTF_8);
+        assertThat(content).contains("event=game_finished sessionId=" + sessionId + " userId=7");
+    }
+}
@@ -0,0 +1,128 @@
+package com.wiss.quizbackend.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für den lock-freien GameEventRingBuffer (viele Producer, ein Consumer).
+ */
+public class GameEventRingBufferTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    /**
+     * Test 1: Voller Puffer → offer() gibt sofort false zurück, nach poll() ist wieder Platz
+     */
+    @Test
+    public void whenBufferIsFull_thenOfferFailsUntilConsumerMakesRoom() {
+        // Arrange - 3 wird auf 4 aufgerundet
+        GameEventRingBuffer buffer = new GameEventRingBuffer(3);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event(i))).isTrue();
+        }
+
+        // Act & Assert
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(buffer.offer(event(4))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo(event(0));
+        assertThat(buffer.offer(event(4))).isTrue();
+        assertThat(buffer.offer(event(5))).isFalse();
+    }
+
+    /**
+     * Test 2: Reihenfolge bleibt erhalten, leerer Puffer liefert null
+     */
+    @Test
+    public void whenEventsArePolled_thenTheyComeOutInOrder() {
+        // Arrange
+        GameEventRingBuffer buffer = new GameEventRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(event(i));
+        }
+
+        // Act
+        List<GameEvent> polled = new ArrayList<>();
+        GameEvent event;
+        while ((event = buffer.poll()) != null) {
+            polled.add(event);
+        }
+
+        // Assert
+        assertThat(polled).containsExactly(event(0), event(1), event(2), event(3), event(4));
+        assertThat(buffer.size()).isZero();
+    }
+
+    /**
+     * Test 3: Mehrere Producer gleichzeitig, Consumer liest parallel mit -
+     * kein Event geht verloren, keines kommt doppelt
+     */
+    @Test
+    public void whenSeveralProducersOfferConcurrently_thenNoEventIsLostOrDuplicated() throws Exception {
+        // Arrange - kleiner Puffer, damit die Producer oft an den vollen Puffer stossen
+        int producers = 4;
+        int eventsPerProducer = 20_000;
+        int total = producers * eventsPerProducer;
+        GameEventRingBuffer buffer = new GameEventRingBuffer(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int firstId = p * eventsPerProducer;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = firstId; i < firstId + eventsPerProducer; i++) {
+                    // Voll → warten, bis der Consumer Platz macht (hier soll nichts verworfen werden)
+                    while (!buffer.offer(event(i))) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        List<GameEvent> received = new ArrayList<>(total);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < total && System.nanoTime() < deadline) {
+            GameEvent event = buffer.poll();
+            if (event == null) {
+                Thread.yield();
+            } else {
+                received.add(event);
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Set<Long> sessionIds = new HashSet<>();
+        for (GameEvent event : received) {
+            sessionIds.add(((GameStartedEvent) event).sessionId());
+        }
+        assertThat(received).hasSize(total);
+        assertThat(sessionIds).hasSize(total);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    private static GameEvent event(long sessionId) {
+        return new GameStartedEvent(sessionId, 7L, "sports", 10, NOW);
+    }
+}
@@ -0,0 +1,161 @@
+package com.wiss.quizbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sammelt die Messwerte eines Lasttests - pro Endpoint ein HdrHistogram.
+ * <p>
+ * HdrHistogram speichert JEDE Latenz (in Mikrosekunden, 3 signifikante Stellen)
+ * statt nur einen Durchschnitt. Damit sind p99 und p99.9 exakt genug, um zwei
+ * Läufe miteinander zu vergleichen - der Durchschnitt versteckt genau die
+ * langsamen Requests, die man sucht.
+ * </p>
+ * Thread-safe: alle virtuellen User schreiben gleichzeitig in denselben Report.
+ */
+class LoadTestReport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestReport.class);
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    /**
+     * @param endpoint Name des Endpoints (z.B. "POST /api/game/start")
+     * @param nanos Dauer des Requests
+     * @param success false bei Fehlerstatus oder Exception
+     */
+    void record(String endpoint, long nanos, boolean success) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, name -> new EndpointStats());
+        stats.latencyMicros.recordValue(Math.max(1, nanos / 1_000));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latencyMicros.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    long requests(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.latencyMicros.getTotalCount();
+    }
+
+    /**
+     * Gibt eine Tabelle ins Log aus.
+     */
+    void print() {
+        double seconds = durationSeconds();
+        log.info(String.format("[loadtest] %d requests in %.1f s (%.0f req/s), %d errors",
+                totalRequests(), seconds, totalRequests() / seconds, totalErrors()));
+        log.info(String.format("[loadtest] %-34s %8s %7s %8s %8s %8s %8s %8s %8s",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencyMicros;
+            log.info(String.format("[loadtest] %-34s %8d %7d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f",
+                    name, h.getTotalCount(), stats.errors.sum(), h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+        });
+    }
+
+    /**
+     * Schreibt den Report als JSON - maschinenlesbar für den Vergleich zwischen Läufen.
+     *
+     * @param file Zieldatei (z.B. target/loadtest-report.json)
+     * @param scenario Parameter des Laufs (Users, Dauer, ...)
+     */
+    void writeJson(Path file, Map<String, Object> scenario, ObjectMapper objectMapper) throws IOException {
+        double seconds = durationSeconds();
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencyMicros;
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", h.getTotalCount());
+            values.put("errors", stats.errors.sum());
+            values.put("throughputPerSecond", h.getTotalCount() / seconds);
+            values.put("meanMs", h.getMean() / 1_000.0);
+            values.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            values.put("p90Ms", millis(h.getValueAtPercentile(90)));
+            values.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            values.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            values.put("maxMs", millis(h.getMaxValue()));
+            perEndpoint.put(name, values);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("durationSeconds", seconds);
+        report.put("totalRequests", totalRequests());
+        report.put("totalErrors", totalErrors());
+        report.put("throughputPerSecond", totalRequests() / seconds);
+        report.put("endpoints", perEndpoint);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("[loadtest] report written to {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Stellt diesen Lauf einem früheren Report gegenüber (Durchsatz und p99 pro Endpoint).
+     *
+     * @param otherFile JSON-Report des anderen Laufs
+     */
+    void printComparison(Path otherFile, ObjectMapper objectMapper) throws IOException {
+        JsonNode other = objectMapper.readTree(otherFile.toFile());
+        String otherName = other.path("scenario").path("threads").asText(otherFile.getFileName().toString());
+        double seconds = durationSeconds();
+
+        log.info("[loadtest] Vergleich mit {} ({})", otherName, otherFile);
+        log.info(String.format("[loadtest] %-34s %12s %12s %12s %12s",
+                "endpoint", "req/s", "req/s other", "p99 ms", "p99 other"));
+        log.info(String.format("[loadtest] %-34s %12.1f %12.1f",
+                "total", totalRequests() / seconds, other.path("throughputPerSecond").asDouble()));
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencyMicros;
+            JsonNode otherEndpoint = other.path("endpoints").path(name);
+            log.info(String.format("[loadtest] %-34s %12.1f %12.1f %12.2f %12.2f",
+                    name, h.getTotalCount() / seconds, otherEndpoint.path("throughputPerSecond").asDouble(),
+                    millis(h.getValueAtPercentile(99)), otherEndpoint.path("p99Ms").asDouble()));
+        });
+    }
+
+    private double durationSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return Math.max(1, end - startNanos) / 1_000_000_000.0;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static final class EndpointStats {
+        // Obergrenze wächst automatisch mit, 3 Stellen = 0.1% Genauigkeit
+        private final Histogram latencyMicros = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,290 @@
+package com.wiss.quizbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Question;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.QuestionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-End Lasttest: die ganze App (Tomcat, Security, JPA) auf einer eingebetteten H2.
+ * <p>
+ * Läuft NICHT im normalen Build, nur mit:
+ * ./mvnw -Ploadtest test
+ * </p>
+ * Ablauf:
+ * 1. Seed: {@code loadtest.users} User und {@code loadtest.questions} Fragen
+ * 2. Warm-up: Szenario läuft, Messwerte werden verworfen (JIT, Caches, Connection Pool)
+ * 3. Messung: {@code loadtest.concurrency} virtuelle User spielen während {@code loadtest.duration} Sekunden
+ * 4. Report: Tabelle im Log + JSON in target/loadtest-report-{platform|virtual}.json
+ * <p>
+ * Eine Runde eines virtuellen Users (wie im Frontend):
+ * Login (alle ~{@code loadtest.relogin-seconds} Sekunden neu) → POST /api/game/start → GET /api/questions/random
+ * → PUT /api/game/{id}/finish → oft GET /api/leaderboard/top10 → manchmal die eigene Statistik.
+ * </p>
+ * Der Login hängt an der Zeit, nicht an der Rundenzahl: unter Last dauern Runden
+ * länger, trotzdem fallen Logins in jedes Messfenster.
+ * Weitere Parameter (alle mit -D): loadtest.warmup=10, loadtest.relogin-seconds=5, loadtest.report-dir=target,
+ * loadtest.datasource-url=... (Standard: H2 im PostgreSQL-Modus als Ersatz für Postgres).
+ * Mit -Dquiz.password-hashing.bcrypt.cost=10 kostet der Login so viel wie in Produktion.
+ * <p>
+ * Gleiches Szenario, gleiche Parameter → zwei Reports lassen sich direkt vergleichen.
+ * Diese Klasse läuft mit Plattform-Threads, VirtualThreadQuizLoadTest mit virtuellen
+ * Threads. Liegt der Report des anderen Modus schon vor, wird der Vergleich ausgegeben.
+ * Aussagekräftig erst mit mehr Clients als Tomcat-Threads: -Dloadtest.concurrency=400
+ * </p>
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.datasource-url:jdbc:h2:mem:loadtest-${random.uuid};MODE=PostgreSQL}",
+        "logging.level.com.wiss.quizbackend=WARN",
+        "logging.level.com.wiss.quizbackend.loadtest=INFO"
+})
+public class QuizLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 500);
+    private static final int QUESTIONS = Integer.getInteger("loadtest.questions", 600);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final long RELOGIN_NANOS =
+            TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.relogin-seconds", 5));
+    private static final String REPORT_DIR = System.getProperty("loadtest.report-dir", "target");
+
+    private static final String PASSWORD = "loadtest123";
+    private static final List<String> CATEGORIES =
+            List.of("sports", "games", "movies", "geography", "science", "history");
+    private static final List<String> DIFFICULTIES = List.of("easy", "medium", "hard");
+    private static final int QUESTIONS_PER_GAME = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Während des Warm-ups ein Wegwerf-Report, danach der echte
+    private final AtomicReference<LoadTestReport> report = new AtomicReference<>(new LoadTestReport());
+
+    @Test
+    public void runScenario() throws Exception {
+        seed();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long deadline = warmupEnd + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        List<Future<?>> users = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            users.add(executor.submit(() -> playUntil(deadline)));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        report.set(new LoadTestReport());
+        for (Future<?> user : users) {
+            user.get(DURATION_SECONDS + 60L, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        LoadTestReport result = report.get();
+        result.finish();
+        result.print();
+        result.writeJson(reportFile(virtualThreads), scenario(), objectMapper);
+        Path otherMode = reportFile(!virtualThreads);
+        if (Files.exists(otherMode)) {
+            result.printComparison(otherMode, objectMapper);
+        }
+
+        // Assert - alle Endpoints wurden aufgerufen, (fast) keine Fehler
+        assertThat(result.requests("POST /api/auth/login")).isPositive();
+        assertThat(result.requests("POST /api/game/start")).isPositive();
+        assertThat(result.requests("PUT /api/game/{id}/finish")).isPositive();
+        assertThat(result.totalErrors()).isLessThanOrEqualTo(result.totalRequests() / 100);
+    }
+
+    /**
+     * Ein virtueller User: spielt Runde um Runde bis zur Deadline.
+     */
+    private void playUntil(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = null;
+        long reloginAt = 0;
+
+        while (System.nanoTime() < deadline) {
+            if (session == null || System.nanoTime() >= reloginAt) {
+                session = login("load" + random.nextInt(USERS));
+                if (session == null) {
+                    continue;
+                }
+                // 0.5x bis 1.5x des Intervalls → die Logins der Clients verteilen sich
+                reloginAt = System.nanoTime() + RELOGIN_NANOS / 2 + random.nextLong(RELOGIN_NANOS);
+            }
+
+            String category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+            JsonNode game = send("POST /api/game/start", session, HttpRequest.newBuilder(
+                    uri("/api/game/start?category=" + category + "&totalQuestions=" + QUESTIONS_PER_GAME))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+
+            send("GET /api/questions/random", session, HttpRequest.newBuilder(
+                    uri("/api/questions/random?category=" + category + "&limit=" + QUESTIONS_PER_GAME)).GET());
+
+            if (game != null && game.hasNonNull("id")) {
+                send("PUT /api/game/{id}/finish", session, HttpRequest.newBuilder(
+                        uri("/api/game/" + game.get("id").asLong() + "/finish?correctAnswers="
+                                + random.nextInt(QUESTIONS_PER_GAME + 1)))
+                        .PUT(HttpRequest.BodyPublishers.noBody()));
+            }
+
+            if (random.nextInt(100) < 60) {
+                send("GET /api/leaderboard/top10", session,
+                        HttpRequest.newBuilder(uri("/api/leaderboard/top10")).GET());
+            }
+            if (random.nextInt(100) < 20) {
+                send("GET /api/leaderboard/user/{id}/stats", session, HttpRequest.newBuilder(
+                        uri("/api/leaderboard/user/" + session.userId() + "/stats")).GET());
+            }
+        }
+    }
+
+    private Session login(String username) {
+        String body = "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+        JsonNode response = send("POST /api/auth/login", null, HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response == null) {
+            return null;
+        }
+        return new Session(response.get("token").asText(), response.get("userId").asLong());
+    }
+
+    /**
+     * Schickt einen Request und misst ihn.
+     *
+     * @return Die Antwort als JSON, null bei Fehlern
+     */
+    private JsonNode send(String endpoint, Session session, HttpRequest.Builder request) {
+        if (session != null) {
+            request.header("Authorization", "Bearer " + session.token());
+        }
+        request.timeout(Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            boolean success = response.statusCode() < 400;
+            report.get().record(endpoint, elapsed, success);
+            return success && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            report.get().record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    /**
+     * Legt die Test-Daten an. Alle User haben dasselbe Passwort -
+     * gehasht wird nur einmal, sonst dauert der Seed länger als der Test.
+     */
+    private void seed() {
+        long start = System.nanoTime();
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        List<AppUser> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new AppUser("load" + i, "load" + i + "@test.ch", hash, Role.PLAYER));
+        }
+        userRepository.saveAll(users);
+
+        List<Question> questions = new ArrayList<>(QUESTIONS);
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(new Question("Lasttest-Frage " + i + "?", "Richtig " + i,
+                    List.of("Falsch A" + i, "Falsch B" + i, "Falsch C" + i),
+                    CATEGORIES.get(i % CATEGORIES.size()), DIFFICULTIES.get(i % DIFFICULTIES.size()), null));
+        }
+        questionRepository.saveAll(questions);
+
+        log.info("[loadtest] seeded {} users and {} questions in {} s",
+                USERS, QUESTIONS, String.format("%.1f", (System.nanoTime() - start) / 1_000_000_000.0));
+    }
+
+    private Map<String, Object> scenario() {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("threads", threadingMode(virtualThreads));
+        scenario.put("users", USERS);
+        scenario.put("questions", QUESTIONS);
+        scenario.put("concurrency", CONCURRENCY);
+        scenario.put("warmupSeconds", WARMUP_SECONDS);
+        scenario.put("durationSeconds", DURATION_SECONDS);
+        scenario.put("reloginSeconds", TimeUnit.NANOSECONDS.toSeconds(RELOGIN_NANOS));
+        scenario.put("javaVersion", System.getProperty("java.version"));
+        scenario.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        return scenario;
+    }
+
+    private static Path reportFile(boolean virtual) {
+        return Path.of(REPORT_DIR, "loadtest-report-" + threadingMode(virtual) + ".json");
+    }
+
+    private static String threadingMode(boolean virtual) {
+        return virtual ? "virtual" : "platform";
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Session(String token, long userId) {
+    }
+}
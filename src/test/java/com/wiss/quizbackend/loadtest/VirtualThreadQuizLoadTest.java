@@ -0,0 +1,22 @@
+package com.wiss.quizbackend.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Derselbe Lasttest wie QuizLoadTest, aber mit virtuellen Threads
+ * (Tomcat, @Async, @Scheduled) und der Einlasskontrolle vor der Datenbank.
+ * <p>
+ * Beide zusammen: ./mvnw -Ploadtest test -Dloadtest.concurrency=400
+ * Der zweite Lauf gibt den Vergleich (Durchsatz, p99) auf der Konsole aus.
+ * </p>
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.datasource-url:jdbc:h2:mem:loadtest-${random.uuid};MODE=PostgreSQL}",
+        "logging.level.com.wiss.quizbackend=WARN",
+        "logging.level.com.wiss.quizbackend.loadtest=INFO",
+        "spring.threads.virtual.enabled=true"
+})
+public class VirtualThreadQuizLoadTest extends QuizLoadTest {
+}
@@ -0,0 +1,77 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.Role;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prüft die Migrationen aus db/migration gegen die Entities.
+ * <p>
+ * Profil "prod" wie in Produktion (Flyway an, gleiche Locations), aber:
+ * - frische H2-Datenbank im PostgreSQL-Modus statt PostgreSQL
+ * - ddl-auto=validate statt none: Hibernate bricht den Start ab, wenn nach
+ *   V1 + allen Folgemigrationen eine Tabelle, Spalte oder Sequence fehlt
+ * </p>
+ * Analogie: Bauabnahme - erst wird nach Plan gebaut (Flyway), dann geht der
+ * Architekt mit dem Plan durchs Haus (validate).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("prod")
+public class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    /**
+     * Test 1: Alle Migrationen ausgeführt, das Schema passt zu den Entities (sonst kein Context)
+     */
+    @Test
+    public void whenStartingOnEmptyDatabase_thenAllMigrationsAreApplied() {
+        // Act
+        MigrationInfo[] applied = flyway.info().applied();
+
+        // Assert
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(applied).map(info -> info.getVersion().getVersion()))
+                .startsWith("1", "2", "3", "4")
+                .contains("8");
+        assertThat(Arrays.stream(applied).allMatch(info -> info.getState().isApplied())).isTrue();
+    }
+
+    /**
+     * Test 2: IDs kommen aus den Sequences (V4), nicht mehr aus IDENTITY-Spalten
+     */
+    @Test
+    public void whenSavingEntities_thenIdsComeFromSequences() {
+        // Act
+        AppUser user = appUserRepository.save(
+                new AppUser("flyway_user", "flyway@example.com", "hash", Role.PLAYER));
+        GameSession session = gameSessionRepository.save(
+                new GameSession(user.getId(), "sports", 3, 5, 300));
+
+        // Assert
+        assertThat(user.getId()).isPositive();
+        assertThat(session.getId()).isPositive();
+        assertThat(session.getVersion()).isZero();
+    }
+}
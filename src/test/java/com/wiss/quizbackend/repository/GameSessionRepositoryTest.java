@@ -0,0 +1,97 @@
+package com.wiss.quizbackend.repository;
+
+import com.wiss.quizbackend.dto.GameHistoryDTO;
+import com.wiss.quizbackend.entity.GameSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class GameSessionRepositoryTest {
+
+    private static final LocalDateTime FAR_PAST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    /**
+     * Test 1: Historie seitenweise lesen - jede Session genau einmal, neueste zuerst
+     */
+    @Test
+    public void whenPagingThroughHistory_thenEverySessionAppearsExactlyOnce() {
+        // Arrange - zwei Sessions mit identischem played_at (Cursor muss über die ID weiter)
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+        persistSession(1L, "sports", base.minusDays(3));
+        persistSession(1L, "math", base.minusDays(2));
+        persistSession(1L, "sports", base.minusDays(1));
+        persistSession(1L, "sports", base.minusDays(1));
+        persistSession(1L, "history", base);
+        persistSession(2L, "sports", base);  // anderer User
+
+        // Act - Seiten à 2 Einträge lesen, bis nichts mehr kommt
+        List<GameHistoryDTO> all = new ArrayList<>();
+        LocalDateTime cursorPlayedAt = FAR_FUTURE;
+        Long cursorId = 0L;
+        int pages = 0;
+        while (true) {
+            List<GameHistoryDTO> page = gameSessionRepository.findHistoryPage(
+                    1L, FAR_PAST, cursorPlayedAt, cursorId, PageRequest.of(0, 2));
+            if (page.isEmpty()) {
+                break;
+            }
+            all.addAll(page);
+            pages++;
+            GameHistoryDTO last = page.get(page.size() - 1);
+            cursorPlayedAt = last.getPlayedAt();
+            cursorId = last.getId();
+        }
+
+        // Assert
+        assertThat(pages).isEqualTo(3);
+        assertThat(all).hasSize(5);
+        assertThat(all).extracting(GameHistoryDTO::getId).doesNotHaveDuplicates();
+        assertThat(all.get(0).getCategory()).isEqualTo("history");
+        assertThat(all.get(4).getPlayedAt()).isEqualTo(base.minusDays(3));
+    }
+
+    /**
+     * Test 2: Historie nach Kategorie und Zeitraum filtern
+     */
+    @Test
+    public void whenFilteringByCategoryAndRange_thenReturnOnlyMatchingSessions() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+        persistSession(1L, "sports", base.minusDays(10));
+        persistSession(1L, "sports", base.minusDays(2));
+        persistSession(1L, "math", base.minusDays(1));
+        persistSession(1L, "sports", base);
+
+        // Act - nur sports, ab vor 5 Tagen, bis (exklusiv) base
+        List<GameHistoryDTO> result = gameSessionRepository.findHistoryPageByCategory(
+                1L, "sports", base.minusDays(5), base, 0L, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getPlayedAt()).isEqualTo(base.minusDays(2));
+    }
+
+    private void persistSession(Long userId, String category, LocalDateTime playedAt) {
+        GameSession session = new GameSession(userId, category, 5, 10, 50);
+        session.setPlayedAt(playedAt);
+        entityManager.persistAndFlush(session);
+    }
+}
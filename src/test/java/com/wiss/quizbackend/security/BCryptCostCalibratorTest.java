@@ -0,0 +1,63 @@
+package com.wiss.quizbackend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die BCrypt-Kalibrierung und die Erkennung veralteter Hashes.
+ * Kleine Stärken (4-6), damit die Tests schnell bleiben.
+ */
+public class BCryptCostCalibratorTest {
+
+    /**
+     * Test 1: Unerreichbar kleines Ziel → Untergrenze
+     */
+    @Test
+    public void whenTargetIsTiny_thenMinimumCostIsUsed() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+    }
+
+    /**
+     * Test 2: Grosszügiges Ziel → Obergrenze
+     */
+    @Test
+    public void whenTargetIsGenerous_thenMaximumCostIsUsed() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+
+    /**
+     * Test 3: Schwächere Hashes werden immer erneuert, teurere erst jenseits der Toleranz
+     */
+    @Test
+    public void whenStoredCostDiffers_thenUpgradeIsRequestedOutsideTolerance() {
+        CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("pw"))).isFalse();
+    }
+
+    /**
+     * Test 4: Zwei Instanzen mit einer Stufe Unterschied hashen denselben User nicht hin und her
+     */
+    @Test
+    public void whenTwoNodesDifferByOneStep_thenHashSettlesAfterOneUpgrade() {
+        // Arrange - Instanz A kalibriert auf 4, Instanz B auf 5
+        CostAwareBCryptPasswordEncoder nodeA = new CostAwareBCryptPasswordEncoder(4);
+        CostAwareBCryptPasswordEncoder nodeB = new CostAwareBCryptPasswordEncoder(5);
+        String hash = nodeA.encode("pw");
+
+        // Act - Login auf B erneuert einmal, danach abwechselnd A und B
+        assertThat(nodeB.upgradeEncoding(hash)).isTrue();
+        hash = nodeB.encode("pw");
+
+        // Assert
+        assertThat(nodeA.upgradeEncoding(hash)).isFalse();
+        assertThat(nodeB.upgradeEncoding(hash)).isFalse();
+    }
+}
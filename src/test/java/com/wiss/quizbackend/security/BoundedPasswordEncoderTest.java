@@ -0,0 +1,108 @@
+package com.wiss.quizbackend.security;
+
+import com.wiss.quizbackend.exception.PasswordHashingOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für den BoundedPasswordEncoder.
+ * Ein blockierender Fake-Encoder simuliert langsames BCrypt.
+ */
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    /**
+     * Test 1: Ergebnis des Delegates kommt unverändert zurück
+     */
+    @Test
+    public void whenPoolIsIdle_thenDelegateResultIsReturned() {
+        // Arrange
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 2);
+
+        // Act & Assert
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.getCompletedCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test 2: Thread belegt + Warteschlange voll → sofortige Ablehnung
+     */
+    @Test
+    public void whenQueueIsFull_thenRequestIsRejectedImmediately() throws Exception {
+        // Arrange - 1 Thread, Warteschlange für 1 Auftrag
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 3);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitUntilQueued();
+
+        // Act & Assert - dritter Auftrag wird abgelehnt
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(PasswordHashingOverloadedException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+        assertThat(encoder.getRejectedCount()).isEqualTo(1);
+
+        // Laufende Aufträge werden trotzdem fertig
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:b");
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (encoder.getQueueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(encoder.getQueueDepth()).isEqualTo(1);
+    }
+
+    /**
+     * Fake-Encoder, der wartet bis der Test ihn freigibt.
+     */
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            awaitRelease();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            awaitRelease();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
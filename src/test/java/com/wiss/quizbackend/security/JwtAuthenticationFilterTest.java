@@ -0,0 +1,223 @@
+package com.wiss.quizbackend.security;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests für den JwtAuthenticationFilter.
+ * Kernaussage: Mit einem Token inkl. "uid" Claim wird KEIN User aus der DB geladen.
+ */
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnly123456789";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private VerifiedTokenCache tokenCache;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3600000L);
+        tokenCache = new VerifiedTokenCache(true, 1_000_000);
+        revocationList = new TokenRevocationList(1_000, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test 1: Token mit uid - Principal kommt aus den Claims, keine DB-Abfrage
+     */
+    @Test
+    public void whenTokenContainsUserId_thenPrincipalIsBuiltWithoutLookup() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(42L, "alice", "ADMIN");
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth.getPrincipal()).isInstanceOf(AppUser.class);
+        AppUser principal = (AppUser) auth.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    /**
+     * Test 2: Älterer Token ohne uid - User wird wie bisher aus der DB geladen
+     */
+    @Test
+    public void whenTokenHasNoUserId_thenUserIsLoadedFromDatabase() throws Exception {
+        // Arrange
+        String legacyToken = Jwts.builder()
+                .setClaims(Map.of("role", "PLAYER"))
+                .setSubject("bob")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        AppUser stored = new AppUser("bob", "bob@test.ch", "hash", Role.PLAYER);
+        stored.setId(7L);
+        when(userDetailsService.loadUserByUsername("bob")).thenReturn(stored);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+
+        // Act
+        filter.doFilter(requestWithToken(legacyToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(stored);
+        verify(userDetailsService).loadUserByUsername("bob");
+    }
+
+    /**
+     * Test 3: Stateless-Modus ausgeschaltet - immer DB-Abfrage
+     */
+    @Test
+    public void whenStatelessModeDisabled_thenUserIsLoadedFromDatabase() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(7L, "bob", "PLAYER");
+        AppUser stored = new AppUser("bob", "bob@test.ch", "hash", Role.PLAYER);
+        when(userDetailsService.loadUserByUsername("bob")).thenReturn(stored);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, false);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(stored);
+    }
+
+    /**
+     * Test 4: Manipulierter Token - kein Login, keine DB-Abfrage, Request läuft anonym weiter
+     */
+    @Test
+    public void whenTokenIsTampered_thenRequestStaysAnonymous() throws Exception {
+        // Arrange - erstes Zeichen der Signatur verändern
+        String token = jwtService.generateToken(42L, "alice", "ADMIN");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replaced
+                + token.substring(signatureStart + 1);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(requestWithToken(tampered), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    /**
+     * Test 5: Gleicher Token zweimal - der zweite Request kommt aus dem Cache
+     */
+    @Test
+    public void whenSameTokenIsSentTwice_thenSecondRequestHitsCache() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(42L, "alice", "PLAYER");
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(tokenCache.stats().missCount()).isEqualTo(1);
+        assertThat(tokenCache.stats().hitCount()).isEqualTo(1);
+        AppUser principal = (AppUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertThat(principal.getId()).isEqualTo(42L);
+    }
+
+    /**
+     * Test 6: Widerrufener Token aus dem Cache - Request bleibt trotzdem anonym
+     */
+    @Test
+    public void whenCachedTokenIsRevoked_thenRequestStaysAnonymous() throws Exception {
+        // Arrange - Token einmal benutzen (landet im Cache), dann widerrufen
+        String token = jwtService.generateToken(42L, "alice", "PLAYER");
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+        revocationList.revokeToken(verified.jti(), verified.expiresAt());
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(tokenCache.stats().hitCount()).isEqualTo(1);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    /**
+     * Test 7: User gesperrt - alte Tokens ungültig, ein neuer Token (spätere Sekunde) gilt
+     */
+    @Test
+    public void whenUserIsRevoked_thenOlderTokensAreRejected() throws Exception {
+        // Arrange
+        String oldToken = jwtService.generateToken(42L, "alice", "PLAYER");
+        VerifiedToken old = jwtService.verify(oldToken).orElseThrow();
+        revocationList.revokeUser(42L, old.issuedAt());
+        VerifiedToken newer = new VerifiedToken("alice", 42L, "PLAYER", "new-jti",
+                old.issuedAt().plusSeconds(1), old.expiresAt());
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, tokenCache, revocationList, userDetailsService, true);
+
+        // Act
+        filter.doFilter(requestWithToken(oldToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(revocationList.isRevoked(newer)).isFalse();
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/questions");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
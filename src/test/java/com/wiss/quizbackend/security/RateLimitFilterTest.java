@@ -0,0 +1,257 @@
+package com.wiss.quizbackend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für RateLimiter und RateLimitFilter.
+ * Die Zeit kommt aus einer festen Uhr (AtomicLong) - kein Thread.sleep nötig.
+ */
+public class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private RateLimiter authLimiter;
+    private RateLimiter gameStartLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // auth: 6 pro Minute (alle 10 s ein Token), 3 direkt hintereinander
+        authLimiter = new RateLimiter(6, Duration.ofMinutes(1), 3, clock::get);
+        gameStartLimiter = new RateLimiter(6, Duration.ofMinutes(1), 2, clock::get);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new RateLimitFilter(objectMapper, true, authLimiter, gameStartLimiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test 1: Burst ist erlaubt, danach muss genau ein Intervall gewartet werden
+     */
+    @Test
+    public void whenBurstIsUsedUp_thenWaitIsOneInterval() {
+        // Act
+        long first = authLimiter.tryAcquire("10.0.0.1");
+        long second = authLimiter.tryAcquire("10.0.0.1");
+        long third = authLimiter.tryAcquire("10.0.0.1");
+        long fourth = authLimiter.tryAcquire("10.0.0.1");
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    /**
+     * Test 2: Nach einem Intervall ist wieder genau ein Token da
+     */
+    @Test
+    public void whenIntervalHasPassed_thenOneTokenIsRefilled() {
+        // Arrange - Bucket leeren
+        for (int i = 0; i < 3; i++) {
+            authLimiter.tryAcquire("10.0.0.1");
+        }
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        long afterRefill = authLimiter.tryAcquire("10.0.0.1");
+        long again = authLimiter.tryAcquire("10.0.0.1");
+
+        // Assert
+        assertThat(afterRefill).isZero();
+        assertThat(again).isPositive();
+    }
+
+    /**
+     * Test 3: Verschiedene Clients haben eigene Buckets
+     */
+    @Test
+    public void whenDifferentClientsCall_thenBucketsAreIndependent() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            authLimiter.tryAcquire("10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThat(authLimiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(authLimiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    /**
+     * Test 4: Volle Buckets werden aufgeräumt, aktive bleiben
+     */
+    @Test
+    public void whenBucketIsFullAgain_thenEntryIsEvicted() {
+        // Arrange
+        authLimiter.tryAcquire("idle");
+        for (int i = 0; i < 3; i++) {
+            authLimiter.tryAcquire("busy");
+        }
+
+        // Act - 10 s später: "idle" ist wieder voll, "busy" noch nicht
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        int evicted = authLimiter.evictIdle();
+
+        // Assert
+        assertThat(evicted).isEqualTo(1);
+        assertThat(authLimiter.size()).isEqualTo(1);
+    }
+
+    /**
+     * Test 5: Aufräumen läuft parallel zu Requests - kein gebuchter Token geht verloren,
+     * pro Schlüssel werden nie mehr als "burst" Requests erlaubt
+     */
+    @Test
+    public void whenEvictionRunsConcurrently_thenNoKeyGetsMoreThanBurst() throws Exception {
+        // Arrange - Uhr steht still: ohne verlorene Buchungen genau 3 Requests pro Schlüssel
+        int keys = 2_000;
+        int threads = 4;
+        AtomicIntegerArray allowed = new AtomicIntegerArray(keys);
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        Future<?> evictor = executor.submit(() -> {
+            start.await();
+            while (!done.get()) {
+                authLimiter.evictIdle();
+            }
+            return null;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int key = 0; key < keys; key++) {
+                    for (int attempt = 0; attempt < 2; attempt++) {
+                        if (authLimiter.tryAcquire("client-" + key) == 0) {
+                            allowed.incrementAndGet(key);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        evictor.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        for (int key = 0; key < keys; key++) {
+            assertThat(allowed.get(key)).as("client-" + key).isEqualTo(3);
+        }
+        assertThat(authLimiter.size()).isEqualTo(keys);
+    }
+
+    /**
+     * Test 6: Über dem Limit - 429 mit Retry-After, Controller wird nicht erreicht
+     */
+    @Test
+    public void whenLoginLimitIsExceeded_thenFilterReturns429() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(post("/api/auth/login"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(post("/api/auth/login"), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(response.getContentAsString()).contains("TOO_MANY_REQUESTS");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    /**
+     * Test 7: Game-Start wird pro User gezählt, nicht pro IP
+     */
+    @Test
+    public void whenTwoUsersShareAnIp_thenGameStartIsLimitedPerUser() throws Exception {
+        // Arrange - alice verbraucht ihren Burst (2)
+        loginAs(1L, "alice");
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(post("/api/game/start"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletResponse aliceResponse = new MockHttpServletResponse();
+        filter.doFilter(post("/api/game/start"), aliceResponse, new MockFilterChain());
+
+        // Act - bob, gleiche IP
+        loginAs(2L, "bob");
+        MockHttpServletResponse bobResponse = new MockHttpServletResponse();
+        MockFilterChain bobChain = new MockFilterChain();
+        filter.doFilter(post("/api/game/start"), bobResponse, bobChain);
+
+        // Assert
+        assertThat(aliceResponse.getStatus()).isEqualTo(429);
+        assertThat(bobResponse.getStatus()).isEqualTo(200);
+        assertThat(bobChain.getRequest()).isNotNull();
+    }
+
+    /**
+     * Test 8: Andere Endpoints (und GET) werden nie gezählt
+     */
+    @Test
+    public void whenOtherEndpointsAreCalled_thenNoLimitApplies() throws Exception {
+        // Act
+        for (int i = 0; i < 20; i++) {
+            filter.doFilter(post("/api/questions"), new MockHttpServletResponse(), new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/auth/test"),
+                    new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        // Assert
+        assertThat(authLimiter.size()).isZero();
+        assertThat(gameStartLimiter.size()).isZero();
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private void loginAs(Long id, String username) {
+        AppUser user = AppUser.fromTokenClaims(id, username, Role.PLAYER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
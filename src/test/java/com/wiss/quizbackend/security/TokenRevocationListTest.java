@@ -0,0 +1,78 @@
+package com.wiss.quizbackend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die TokenRevocationList (Bloom-Filter + exaktes Set).
+ */
+public class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    /**
+     * Test 1: Nur der widerrufene Token ist betroffen
+     */
+    @Test
+    public void whenTokenIsRevoked_thenOnlyThatTokenIsRejected() {
+        // Arrange
+        TokenRevocationList list = new TokenRevocationList(1_000, 0.01);
+
+        // Act
+        list.revokeToken("jti-1", NOW.plusSeconds(900));
+
+        // Assert
+        assertThat(list.isRevoked(token(7L, "jti-1", NOW))).isTrue();
+        assertThat(list.isRevoked(token(7L, "jti-2", NOW))).isFalse();
+    }
+
+    /**
+     * Test 2: Bloom-Filter voll ausgelastet - trotzdem keine falschen Ablehnungen,
+     * weil jedes "vielleicht" im exakten Set nachgeprüft wird
+     */
+    @Test
+    public void whenBloomFilterIsFull_thenNoValidTokenIsRejected() {
+        // Arrange - mehr Einträge als erwartet
+        TokenRevocationList list = new TokenRevocationList(1_000, 0.01);
+        for (int i = 0; i < 2_000; i++) {
+            list.revokeToken(UUID.randomUUID().toString(), NOW.plusSeconds(900));
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(list.isRevoked(token(null, UUID.randomUUID().toString(), NOW))).isFalse();
+        }
+    }
+
+    /**
+     * Test 3: Aufräumen entfernt abgelaufene Einträge, gültige Widerrufe bleiben wirksam
+     */
+    @Test
+    public void whenPruned_thenExpiredEntriesAreRemovedAndOthersStayRevoked() {
+        // Arrange
+        TokenRevocationList list = new TokenRevocationList(1_000, 0.01);
+        list.revokeToken("expired", NOW.minusSeconds(1));
+        list.revokeToken("active", NOW.plusSeconds(600));
+        list.revokeUser(1L, NOW.minus(Duration.ofMinutes(20)));
+        list.revokeUser(2L, NOW.minus(Duration.ofMinutes(5)));
+
+        // Act - JWTs leben 15 Minuten
+        int pruned = list.prune(NOW, Duration.ofMinutes(15));
+
+        // Assert
+        assertThat(pruned).isEqualTo(2);
+        assertThat(list.revokedTokenCount()).isEqualTo(1);
+        assertThat(list.revokedUserCount()).isEqualTo(1);
+        assertThat(list.isRevoked(token(9L, "active", NOW))).isTrue();
+        assertThat(list.isRevoked(token(2L, "other", NOW.minus(Duration.ofMinutes(10))))).isTrue();
+    }
+
+    private static VerifiedToken token(Long userId, String jti, Instant issuedAt) {
+        return new VerifiedToken("user", userId, "PLAYER", jti, issuedAt, issuedAt.plusSeconds(900));
+    }
+}
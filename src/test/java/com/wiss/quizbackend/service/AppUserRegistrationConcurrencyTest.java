@@ -0,0 +1,117 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für registerUser() unter Last.
+ * Viele gleichzeitige Registrierungen mit demselben Username bzw. derselben E-Mail:
+ * genau EINE gewinnt, alle anderen bekommen die bekannte Fehlermeldung.
+ */
+@SpringBootTest
+public class AppUserRegistrationConcurrencyTest {
+
+    private static final int THREADS = 12;
+
+    @Autowired
+    private AppUserService appUserService;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    /**
+     * Test 1: Gleicher Username, verschiedene E-Mails
+     */
+    @Test
+    public void whenSameUsernameRegistersConcurrently_thenExactlyOneSucceeds() throws Exception {
+        // Arrange
+        String username = "race-" + shortId();
+
+        // Act
+        List<Future<AppUser>> results = registerConcurrently(i ->
+                () -> appUserService.registerUser(username, username + "-" + i + "@test.ch", "secret123", Role.PLAYER));
+
+        // Assert
+        assertSingleWinner(results, "Username '" + username + "' ist bereits vergeben");
+        assertThat(userRepository.findByUsername(username)).isPresent();
+    }
+
+    /**
+     * Test 2: Gleiche E-Mail, verschiedene Usernames
+     */
+    @Test
+    public void whenSameEmailRegistersConcurrently_thenExactlyOneSucceeds() throws Exception {
+        // Arrange
+        String email = "race-" + shortId() + "@test.ch";
+
+        // Act
+        List<Future<AppUser>> results = registerConcurrently(i ->
+                () -> appUserService.registerUser("user-" + shortId(), email, "secret123", Role.PLAYER));
+
+        // Assert
+        assertSingleWinner(results, "Email '" + email + "' ist bereits registriert");
+        assertThat(userRepository.findByEmail(email)).isPresent();
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private void assertSingleWinner(List<Future<AppUser>> results, String expectedMessage) throws Exception {
+        int succeeded = 0;
+        for (Future<AppUser> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause())
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage(expectedMessage);
+            }
+        }
+        assertThat(succeeded).isEqualTo(1);
+    }
+
+    private List<Future<AppUser>> registerConcurrently(CallFactory factory) {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<AppUser>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                Callable<AppUser> call = factory.create(i);
+                results.add(pool.submit(() -> {
+                    startSignal.await();
+                    return call.call();
+                }));
+            }
+            startSignal.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    private static String shortId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @FunctionalInterface
+    private interface CallFactory {
+        Callable<AppUser> create(int index);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.cache.AppUserCache;
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AppUserServiceTest {
+
+    @Mock
+    private AppUserRepository userRepository;
+
+    @Mock
+    private AppUserCache userCache;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private AppUserService appUserService;
+
+    /**
+     * Test 1: Login mit veraltetem Hash - Passwort wird neu gehasht und gespeichert
+     */
+    @Test
+    public void whenStoredHashIsOutdated_thenPasswordIsRehashedOnLogin() {
+        // Arrange
+        AppUser user = createTestUser("{bcrypt}$2a$12$old");
+        when(userCache.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "{bcrypt}$2a$12$old")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}$2a$12$old")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}$2a$10$new");
+
+        // Act
+        Optional<AppUser> result = appUserService.authenticateUser("alice", "secret");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}$2a$10$new");
+        verify(userRepository).save(user);
+    }
+
+    /**
+     * Test 2: Login mit aktuellem Hash - kein Schreibzugriff
+     */
+    @Test
+    public void whenStoredHashIsCurrent_thenNothingIsSaved() {
+        // Arrange
+        AppUser user = createTestUser("{bcrypt}$2a$10$current");
+        when(userCache.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "{bcrypt}$2a$10$current")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}$2a$10$current")).thenReturn(false);
+
+        // Act
+        Optional<AppUser> result = appUserService.authenticateUser("alice", "secret");
+
+        // Assert
+        assertThat(result).isPresent();
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * Test 3: Falsches Passwort - kein Login, kein Rehash
+     */
+    @Test
+    public void whenPasswordIsWrong_thenLoginFailsWithoutRehash() {
+        // Arrange
+        AppUser user = createTestUser("{bcrypt}$2a$12$old");
+        when(userCache.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "{bcrypt}$2a$12$old")).thenReturn(false);
+
+        // Act
+        Optional<AppUser> result = appUserService.authenticateUser("alice", "wrong");
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(userRepository, never()).save(any());
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private AppUser createTestUser(String passwordHash) {
+        AppUser user = new AppUser("alice", "alice@test.ch", passwordHash, Role.PLAYER);
+        user.setId(1L);
+        return user;
+    }
+}
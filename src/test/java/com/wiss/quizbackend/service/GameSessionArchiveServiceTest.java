@@ -0,0 +1,181 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.dto.GameHistoryDTO;
+import com.wiss.quizbackend.dto.GameHistoryPageDTO;
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.entity.GameSessionRollup;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.ArchivedGameSessionRepository;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import com.wiss.quizbackend.repository.GameSessionRollupRepository;
+import com.wiss.quizbackend.repository.LeaderboardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für die Archivierung alter GameSessions.
+ * Kernaussage: Das Leaderboard liefert vor und nach dem Archivieren
+ * exakt dieselben Resultate.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(GameSessionArchiveService.class)
+public class GameSessionArchiveServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameSessionArchiveService archiveService;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private GameSessionRollupRepository rollupRepository;
+
+    @Autowired
+    private LeaderboardRepository leaderboardRepository;
+
+    @Autowired
+    private ArchivedGameSessionRepository archivedGameSessionRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    /**
+     * Test 1: Alte Sessions archivieren - Leaderboard bleibt identisch
+     */
+    @Test
+    public void whenArchiveOldSessions_thenLeaderboardStaysIdentical() {
+        // Arrange - alte und neue Sessions für zwei User
+        LocalDateTime now = LocalDateTime.now();
+        persistSession(1L, "sports", 5, now.minusDays(400));
+        persistSession(1L, "sports", 3, now.minusDays(395));
+        persistSession(1L, "math", 2, now.minusDays(300));
+        persistSession(1L, "sports", 1, now.minusDays(1));
+        persistSession(2L, "sports", 8, now.minusDays(200));
+        persistSession(2L, "math", 4, now.minusDays(2));
+
+        List<String> top10Before = leaderboardSnapshot();
+        List<String> sportsBefore = categoryLeaderboardSnapshot("sports");
+        List<String> categoriesBefore = categorySnapshot();
+        Long gamesBefore = leaderboardRepository.countGamesByUser(1L);
+        Long scoreBefore = leaderboardRepository.sumScoreByUser(1L);
+
+        // Act - in zwei Etappen archivieren (zweiter Lauf addiert in bestehende Rollups)
+        int firstRun = archiveService.archiveSessionsPlayedBefore(now.minusDays(350));
+        int secondRun = archiveService.archiveSessionsPlayedBefore(now.minusDays(90));
+
+        // Assert - Rohdaten verschoben
+        assertThat(firstRun + secondRun).isEqualTo(4);
+        assertThat(gameSessionRepository.count()).isEqualTo(2);
+        Long archivedRows = entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(a) FROM ArchivedGameSession a", Long.class)
+                .getSingleResult();
+        assertThat(archivedRows).isEqualTo(4);
+        assertThat(rollupRepository.findAll().stream()
+                .mapToLong(GameSessionRollup::getGamesPlayed)
+                .sum()).isEqualTo(4);
+
+        // Assert - Leaderboard unverändert
+        assertThat(leaderboardSnapshot()).isEqualTo(top10Before);
+        assertThat(categoryLeaderboardSnapshot("sports")).isEqualTo(sportsBefore);
+        assertThat(categorySnapshot()).isEqualTo(categoriesBefore);
+        assertThat(leaderboardRepository.countGamesByUser(1L)).isEqualTo(gamesBefore);
+        assertThat(leaderboardRepository.sumScoreByUser(1L)).isEqualTo(scoreBefore);
+    }
+
+    /**
+     * Test 2: Nichts zu archivieren - heisse Tabelle bleibt unverändert
+     */
+    @Test
+    public void whenNoOldSessions_thenNothingIsArchived() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        persistSession(1L, "sports", 5, now.minusDays(3));
+
+        // Act
+        int archived = archiveService.archiveSessionsPlayedBefore(now.minusDays(90));
+
+        // Assert
+        assertThat(archived).isZero();
+        assertThat(gameSessionRepository.count()).isEqualTo(1);
+        assertThat(rollupRepository.count()).isZero();
+    }
+
+    /**
+     * Test 3: Archivierte Games bleiben in der Game-Historie - Seite für Seite, in der richtigen Reihenfolge
+     */
+    @Test
+    public void whenSessionsAreArchived_thenHistoryStillContainsThem() {
+        // Arrange - 3 alte (werden archiviert) und 2 neue Sessions, dazu ein anderer User
+        LocalDateTime now = LocalDateTime.now();
+        persistSession(1L, "sports", 1, now.minusDays(400));
+        persistSession(1L, "math", 2, now.minusDays(300));
+        persistSession(1L, "sports", 3, now.minusDays(200));
+        persistSession(1L, "sports", 4, now.minusDays(2));
+        persistSession(1L, "math", 5, now.minusDays(1));
+        persistSession(2L, "sports", 9, now.minusDays(250));
+        archiveService.archiveSessionsPlayedBefore(now.minusDays(90));
+        GameSessionService gameSessionService = new GameSessionService(
+                gameSessionRepository, archivedGameSessionRepository, appUserRepository, null);
+
+        // Act - Seiten à 2 Einträge bis zum Ende
+        List<Integer> correctAnswers = new ArrayList<>();
+        GameHistoryPageDTO page = gameSessionService.getHistory(1L, null, null, null, null, null, 2);
+        page.getItems().forEach(item -> correctAnswers.add(item.getCorrectAnswers()));
+        while (page.isHasMore()) {
+            page = gameSessionService.getHistory(1L, null, null, null,
+                    page.getNextBeforePlayedAt(), page.getNextBeforeId(), 2);
+            page.getItems().forEach(item -> correctAnswers.add(item.getCorrectAnswers()));
+        }
+
+        // Assert - alle 5 Games des Users, neueste zuerst, keines doppelt
+        assertThat(correctAnswers).containsExactly(5, 4, 3, 2, 1);
+        List<GameHistoryDTO> sports = gameSessionService
+                .getHistory(1L, "sports", null, null, null, null, 10).getItems();
+        assertThat(sports).extracting(GameHistoryDTO::getCorrectAnswers).containsExactly(4, 3, 1);
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private void persistSession(Long userId, String category, int correctAnswers, LocalDateTime playedAt) {
+        GameSession session = new GameSession(userId, category, correctAnswers, 10, correctAnswers * 10);
+        session.setPlayedAt(playedAt);
+        entityManager.persistAndFlush(session);
+    }
+
+    private List<String> leaderboardSnapshot() {
+        return toStrings(leaderboardRepository.findTop10Players(PageRequest.of(0, 10)));
+    }
+
+    private List<String> categoryLeaderboardSnapshot(String category) {
+        return toStrings(leaderboardRepository.findTop10PlayersByCategory(category, PageRequest.of(0, 10)));
+    }
+
+    private List<String> categorySnapshot() {
+        return leaderboardRepository.countGamesByCategory().stream()
+                .map(row -> row[0] + ":" + ((Number) row[1]).longValue())
+                .toList();
+    }
+
+    private List<String> toStrings(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> ((Number) row[0]).longValue() + ":"
+                        + ((Number) row[1]).longValue() + ":"
+                        + ((Number) row[2]).longValue())
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.GameSession;
+import com.wiss.quizbackend.exception.GameAlreadyFinishedException;
+import com.wiss.quizbackend.repository.GameSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für finishGame() unter Last.
+ * Viele Threads beenden gleichzeitig dieselbe GameSession - es darf
+ * genau EIN Schreibvorgang stattfinden (version == 1), alle anderen
+ * Requests sind Retries oder Konflikte.
+ */
+@SpringBootTest
+public class GameSessionServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    /**
+     * Test 1: Gleiches Resultat von allen Threads - alle bekommen dasselbe Resultat
+     */
+    @Test
+    public void whenSameResultIsSentConcurrently_thenExactlyOneWrite() throws Exception {
+        // Arrange
+        Long sessionId = gameSessionRepository.save(new GameSession(1L, "sports", 0, 10, 0)).getId();
+
+        // Act
+        List<Future<GameSession>> results = hammer(i -> () -> gameSessionService.finishGame(sessionId, 7));
+
+        // Assert - jeder Aufruf liefert das gespeicherte Resultat
+        for (Future<GameSession> result : results) {
+            GameSession finished = result.get(10, TimeUnit.SECONDS);
+            assertThat(finished.getCorrectAnswers()).isEqualTo(7);
+            assertThat(finished.getTotalScore()).isEqualTo(70);
+        }
+
+        GameSession stored = gameSessionRepository.findById(sessionId).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(stored.getFinishedAt()).isNotNull();
+    }
+
+    /**
+     * Test 2: Unterschiedliche Resultate - genau einer gewinnt, der Rest bekommt 409
+     */
+    @Test
+    public void whenConflictingResultsAreSentConcurrently_thenOneWinsAndOthersAreRejected() throws Exception {
+        // Arrange
+        Long sessionId = gameSessionRepository.save(new GameSession(2L, "math", 0, THREADS, 0)).getId();
+
+        // Act - jeder Thread schickt ein anderes Resultat
+        List<Future<GameSession>> results = hammer(i -> () -> gameSessionService.finishGame(sessionId, i));
+
+        // Assert
+        int succeeded = 0;
+        int rejected = 0;
+        Integer winner = null;
+        for (Future<GameSession> result : results) {
+            try {
+                winner = result.get(10, TimeUnit.SECONDS).getCorrectAnswers();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(GameAlreadyFinishedException.class);
+                rejected++;
+            }
+        }
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(rejected).isEqualTo(THREADS - 1);
+
+        GameSession stored = gameSessionRepository.findById(sessionId).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(stored.getCorrectAnswers()).isEqualTo(winner);
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    /**
+     * Startet alle Aufrufe gleichzeitig (Startschuss per CountDownLatch).
+     */
+    private List<Future<GameSession>> hammer(CallFactory factory) {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<GameSession>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                Callable<GameSession> call = factory.create(i);
+                results.add(pool.submit(() -> {
+                    startSignal.await();
+                    return call.call();
+                }));
+            }
+            startSignal.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface CallFactory {
+        Callable<GameSession> create(int index);
+    }
+}
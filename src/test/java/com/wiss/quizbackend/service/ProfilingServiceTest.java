@@ -0,0 +1,107 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.exception.ProfilingInProgressException;
+import com.wiss.quizbackend.profiling.QuestionCatalogReadEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests für den ProfilingService (echte JFR-Aufzeichnungen, je ca. 1 Sekunde).
+ */
+public class ProfilingServiceTest {
+
+    private final ProfilingService profilingService = new ProfilingService(Duration.ofMinutes(1));
+
+    /**
+     * Test 1: Eigene Events landen in der Aufzeichnung - mit ihren Feldern
+     */
+    @Test
+    public void whenEventIsCommittedDuringRecording_thenItIsInTheFile() throws Exception {
+        // Arrange
+        CompletableFuture<Path> recording = CompletableFuture.supplyAsync(() -> {
+            try {
+                return profilingService.record(Duration.ofSeconds(1), "default");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waitUntilRecording();
+
+        // Act
+        QuestionCatalogReadEvent event = new QuestionCatalogReadEvent();
+        event.begin();
+        event.operation = "byCategory";
+        event.category = "sports";
+        event.rowCount = 42;
+        event.commit();
+        Path file = recording.get(30, TimeUnit.SECONDS);
+
+        // Assert
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName()
+                            .equals("com.wiss.quizbackend.QuestionCatalogRead"))
+                    .toList();
+            assertThat(events).isNotEmpty();
+            assertThat(events.get(0).getString("category")).isEqualTo("sports");
+            assertThat(events.get(0).getInt("rowCount")).isEqualTo(42);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThat(profilingService.isRecording()).isFalse();
+    }
+
+    /**
+     * Test 2: Zweite Aufzeichnung gleichzeitig → abgelehnt
+     */
+    @Test
+    public void whenRecordingIsRunning_thenSecondRecordingIsRejected() throws Exception {
+        // Arrange
+        CompletableFuture<Path> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return profilingService.record(Duration.ofSeconds(1), "default");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waitUntilRecording();
+
+        // Act & Assert
+        assertThatThrownBy(() -> profilingService.record(Duration.ofSeconds(1), "default"))
+                .isInstanceOf(ProfilingInProgressException.class);
+        Files.deleteIfExists(first.get(30, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test 3: Ungültige Dauer oder Settings → IllegalArgumentException (400)
+     */
+    @Test
+    public void whenParametersAreInvalid_thenIllegalArgument() {
+        assertThatThrownBy(() -> profilingService.record(Duration.ZERO, "default"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profilingService.record(Duration.ofMinutes(2), "default"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profilingService.record(Duration.ofSeconds(1), "everything"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(profilingService.isRecording()).isFalse();
+    }
+
+    private void waitUntilRecording() throws InterruptedException {
+        for (int i = 0; i < 500 && !profilingService.isRecording(); i++) {
+            Thread.sleep(10);
+        }
+        // isRecording wird vor jfr.start() gesetzt - kurz warten, bis JFR wirklich läuft
+        Thread.sleep(200);
+    }
+}
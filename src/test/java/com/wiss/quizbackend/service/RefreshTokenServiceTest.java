@@ -0,0 +1,126 @@
+package com.wiss.quizbackend.service;
+
+import com.wiss.quizbackend.entity.AppUser;
+import com.wiss.quizbackend.entity.Role;
+import com.wiss.quizbackend.repository.AppUserRepository;
+import com.wiss.quizbackend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für den RefreshTokenService.
+ * Kernaussage: Jeder Refresh Token funktioniert genau einmal,
+ * ein wiederverwendeter Token sperrt die ganze Sitzung.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RefreshTokenService.class)
+public class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new AppUser("alice", "alice@test.ch", "hash", Role.PLAYER));
+    }
+
+    /**
+     * Test 1: Refresh liefert den User und einen neuen Token, gespeichert wird nur der Hash
+     */
+    @Test
+    public void whenTokenIsRotated_thenUserAndNewTokenAreReturned() {
+        // Arrange
+        String token = refreshTokenService.issue(user);
+
+        // Act
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token);
+
+        // Assert
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().user().getUsername()).isEqualTo("alice");
+        assertThat(rotation.get().refreshToken()).isNotEqualTo(token);
+        assertThat(refreshTokenRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(stored -> assertThat(stored.getTokenHash()).hasSize(32));
+    }
+
+    /**
+     * Test 2: Alter Token nach Rotation - abgelehnt UND der Nachfolger wird gesperrt
+     */
+    @Test
+    public void whenRotatedTokenIsReused_thenWholeFamilyIsRevoked() {
+        // Arrange
+        String stolen = refreshTokenService.issue(user);
+        String successor = refreshTokenService.rotate(stolen).orElseThrow().refreshToken();
+
+        // Act
+        Optional<RefreshTokenService.Rotation> replay = refreshTokenService.rotate(stolen);
+
+        // Assert
+        assertThat(replay).isEmpty();
+        assertThat(refreshTokenService.rotate(successor)).isEmpty();
+    }
+
+    /**
+     * Test 3: Logout widerruft den Token, andere Sitzungen bleiben gültig
+     */
+    @Test
+    public void whenLoggedOut_thenOnlyThatSessionIsRevoked() {
+        // Arrange
+        String laptop = refreshTokenService.issue(user);
+        String phone = refreshTokenService.issue(user);
+
+        // Act
+        boolean known = refreshTokenService.revoke(laptop);
+
+        // Assert
+        assertThat(known).isTrue();
+        assertThat(refreshTokenService.rotate(laptop)).isEmpty();
+        assertThat(refreshTokenService.rotate(phone)).isPresent();
+    }
+
+    /**
+     * Test 4: "Überall abmelden" - alle Tokens des Users sind ungültig
+     */
+    @Test
+    public void whenAllTokensOfUserAreRevoked_thenNoneCanBeRotated() {
+        // Arrange
+        String laptop = refreshTokenService.issue(user);
+        String phone = refreshTokenService.issue(user);
+
+        // Act
+        int revoked = refreshTokenService.revokeAllForUser(user.getId());
+
+        // Assert
+        assertThat(revoked).isEqualTo(2);
+        assertThat(refreshTokenService.rotate(laptop)).isEmpty();
+        assertThat(refreshTokenService.rotate(phone)).isEmpty();
+    }
+
+    /**
+     * Test 5: Unbekannter Token - kein Fehler, einfach leer
+     */
+    @Test
+    public void whenTokenIsUnknown_thenRotationIsEmpty() {
+        // Act & Assert
+        assertThat(refreshTokenService.rotate("not-a-real-token")).isEmpty();
+        assertThat(refreshTokenService.revoke("not-a-real-token")).isFalse();
+    }
+}
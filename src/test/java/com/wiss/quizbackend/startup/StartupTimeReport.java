@@ -0,0 +1,227 @@
+package com.wiss.quizbackend.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wiss.quizbackend.service.JwtService;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Misst die Startzeit der gepackten App: vom Start der JVM bis zur ersten
+ * erfolgreichen Antwort auf GET /api/questions/random.
+ * <p>
+ * Läuft im Maven-Profil "startup" nach dem Packen (siehe pom.xml), nicht im normalen Build.
+ * Die App läuft als eigener Prozess aus dem entpackten Jar, mit Profil "prod"
+ * (Flyway, kein ddl-auto, springdoc lazy) - nur die Datenbank ist eine H2 im Speicher.
+ * </p>
+ * Ablauf:
+ * 1. Trainingslauf mit -XX:ArchiveClassesAtExit: die App startet bis zum Refresh
+ *    (spring.context.exit=onRefresh), alle geladenen Klassen landen im CDS-Archiv
+ * 2. {@code runs} Starts ohne Archiv, {@code runs} Starts mit -XX:SharedArchiveFile
+ * 3. Tabelle auf der Konsole + JSON-Report
+ * <p>
+ * Gemessen werden zwei Zeiten pro Start:
+ * - "first response": JVM-Start bis zur ersten Antwort 200 (Zeit, die ein Load Balancer wartet)
+ * - "spring": die Zeit aus "Started QuizBackendApplication in X seconds" im Log
+ * </p>
+ * Argumente: Verzeichnis (mit app/app.jar und h2.jar), Anzahl Starts, Port, Pfad des Reports.
+ */
+public class StartupTimeReport {
+
+    private static final String JWT_SECRET = "startupReportSecretKeyNotUsedInProduction123";
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final Path dir;
+    private final int port;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupTimeReport(Path dir, int port) {
+        this.dir = dir;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(args[0]);
+        int runs = Integer.parseInt(args[1]);
+        int port = Integer.parseInt(args[2]);
+        Path reportFile = Path.of(args[3]);
+
+        StartupTimeReport report = new StartupTimeReport(dir, port);
+        Path archive = dir.resolve("app.jsa");
+        report.train(archive);
+
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        results.put("default", new ArrayList<>());
+        results.put("cds", new ArrayList<>());
+        // Abwechselnd messen, damit z.B. ein warmer Datei-Cache beide Varianten gleich trifft
+        for (int i = 0; i < runs; i++) {
+            results.get("default").add(report.measure(null, "default-" + i));
+            results.get("cds").add(report.measure(archive, "cds-" + i));
+        }
+
+        print(results);
+        writeJson(reportFile, results, runs);
+    }
+
+    /**
+     * Trainingslauf: App bis zum Refresh starten, Klassenliste ins Archiv schreiben.
+     */
+    private void train(Path archive) throws IOException, InterruptedException {
+        Files.deleteIfExists(archive);
+        List<String> command = javaCommand(List.of(
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        Process process = start(command, "training");
+        if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Trainingslauf hängt, siehe " + dir.resolve("training.log"));
+        }
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Kein CDS-Archiv erzeugt, siehe " + dir.resolve("training.log"));
+        }
+        System.out.printf("[startup] CDS-Archiv %s (%d MB)%n", archive, Files.size(archive) / (1024 * 1024));
+    }
+
+    /**
+     * Ein Start: JVM starten, pollen bis /api/questions/random mit 200 antwortet, beenden.
+     *
+     * @param archive CDS-Archiv, null = ohne
+     */
+    private Run measure(Path archive, String name) throws IOException, InterruptedException {
+        List<String> jvmOptions = archive != null ? List.of("-XX:SharedArchiveFile=" + archive) : List.of();
+        String token = new JwtService(JWT_SECRET, 600_000).generateToken(1L, "startup", "PLAYER");
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/questions/random?limit=5"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = start(javaCommand(jvmOptions), name);
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("App ist beim Start abgestürzt, siehe " + log(name));
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long firstResponseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Run(firstResponseMillis, springStartupMillis(process, name));
+                    }
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException("Antwort " + response.statusCode() + ", siehe " + log(name));
+                    }
+                } catch (IOException notYetListening) {
+                    // Tomcat hört noch nicht auf dem Port
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Keine Antwort nach " + STARTUP_TIMEOUT.toSeconds() + " s, siehe " + log(name));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Gleicher Classpath für Training und Messung - sonst verwirft die JVM das Archiv.
+     */
+    private List<String> javaCommand(List<String> jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(dir.resolve("app").resolve("app.jar") + File.pathSeparator + dir.resolve("h2.jar"));
+        command.add("com.wiss.quizbackend.QuizBackendApplication");
+        command.addAll(List.of(
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--jwt.secret=" + JWT_SECRET,
+                "--server.port=" + port,
+                "--management.server.port=" + (port + 1)));
+        return command;
+    }
+
+    private Process start(List<String> command, String name) throws IOException {
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log(name).toFile())
+                .start();
+    }
+
+    private Path log(String name) {
+        return dir.resolve(name + ".log");
+    }
+
+    private long springStartupMillis(Process process, String name) throws IOException, InterruptedException {
+        // Tomcat nimmt Requests schon vor Ende von run() an - auf einer CPU steht die
+        // Zeile oft erst nach der ersten Antwort im Log, deshalb kurz darauf warten
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            Matcher matcher = STARTED.matcher(Files.readString(log(name)));
+            if (matcher.find()) {
+                return Math.round(Double.parseDouble(matcher.group(1)) * 1000);
+            }
+            Thread.sleep(50);
+        } while (process.isAlive() && System.nanoTime() < deadline);
+        return -1;
+    }
+
+    private static void print(Map<String, List<Run>> results) {
+        System.out.println();
+        System.out.printf("%-10s %8s %8s %8s %12s%n", "mode", "min ms", "median", "max ms", "spring ms");
+        results.forEach((mode, runs) -> {
+            List<Long> times = runs.stream().map(Run::firstResponseMillis).sorted().toList();
+            long spring = Math.round(runs.stream().mapToLong(Run::springMillis).average().orElse(-1));
+            System.out.printf("%-10s %8d %8d %8d %12d%n",
+                    mode, times.get(0), times.get(times.size() / 2), times.get(times.size() - 1), spring);
+        });
+        System.out.println();
+    }
+
+    private static void writeJson(Path file, Map<String, List<Run>> results, int runs) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("endpoint", "GET /api/questions/random");
+        json.put("runs", runs);
+        json.put("javaVersion", System.getProperty("java.version"));
+        json.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        json.put("results", results);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        System.out.println("[startup] Report: " + file);
+    }
+
+    /**
+     * @param firstResponseMillis JVM-Start bis zur ersten Antwort 200
+     * @param springMillis Startzeit laut Spring-Log, -1 wenn nicht gefunden
+     */
+    private record Run(long firstResponseMillis, long springMillis) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.wiss.quizbackend.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.quizbackend.service.LeaderboardService;
+import com.wiss.quizbackend.service.QuestionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests für den WarmupRunner.
+ * Services und DataSource sind Mocks - geprüft wird, dass jeder Schritt läuft
+ * und ein Fehler den Start nicht abbricht.
+ */
+@ExtendWith(MockitoExtension.class)
+public class WarmupRunnerTest {
+
+    private static final String JWT_SECRET = "testSecretKeyForTestingPurposesOnly123456789";
+
+    @Mock
+    private QuestionService questionService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    /**
+     * Test 1: Alle Schritte laufen - Pool wird bis zur maximalen Grösse gefüllt und wieder freigegeben
+     */
+    @Test
+    public void whenWarmupRuns_thenPoolIsFilledAndCatalogAndLeaderboardAreLoaded() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(questionService.getAllQuestionsAsDTO()).thenReturn(List.of());
+        when(leaderboardService.getTop10Players()).thenReturn(List.of());
+        when(leaderboardService.getCategoryStats()).thenReturn(List.of());
+
+        // Act
+        warmupRunner(4).run(null);
+
+        // Assert
+        verify(dataSource, times(4)).getConnection();
+        verify(connection, times(4)).close();
+        verify(questionService).getAllQuestionsAsDTO();
+        verify(leaderboardService).getTop10Players();
+        verify(leaderboardService).getCategoryStats();
+    }
+
+    /**
+     * Test 2: Datenbank nicht erreichbar - der Warm-up läuft trotzdem zu Ende
+     */
+    @Test
+    public void whenStepFails_thenRemainingStepsStillRun() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection).thenThrow(new SQLException("down"));
+        when(questionService.getAllQuestionsAsDTO()).thenThrow(new IllegalStateException("down"));
+        when(leaderboardService.getTop10Players()).thenReturn(List.of());
+        when(leaderboardService.getCategoryStats()).thenReturn(List.of());
+
+        // Act
+        warmupRunner(4).run(null);
+
+        // Assert - bereits geholte Connection wurde zurückgegeben, Leaderboard lief trotzdem
+        verify(connection).close();
+        verify(leaderboardService).getTop10Players();
+    }
+
+    /**
+     * Test 3: Einlasskontrolle mit weniger Permits als der Pool - nur so viele Connections holen,
+     * sonst wartet der Warm-up-Thread auf seine eigenen Permits
+     */
+    @Test
+    public void whenPermitLimitIsBelowPoolSize_thenOnlyPermittedConnectionsAreOpened() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(questionService.getAllQuestionsAsDTO()).thenReturn(List.of());
+        when(leaderboardService.getTop10Players()).thenReturn(List.of());
+        when(leaderboardService.getCategoryStats()).thenReturn(List.of());
+
+        // Act
+        warmupRunner(10, 3).run(null);
+
+        // Assert
+        verify(dataSource, times(3)).getConnection();
+        verify(connection, times(3)).close();
+    }
+
+    private WarmupRunner warmupRunner(int poolSize) {
+        return warmupRunner(poolSize, 0);
+    }
+
+    private WarmupRunner warmupRunner(int poolSize, int permitLimit) {
+        return new WarmupRunner(questionService, leaderboardService, new ObjectMapper(), dataSource,
+                JWT_SECRET, 60_000, poolSize, permitLimit, 50, Duration.ofSeconds(10));
+    }
+}
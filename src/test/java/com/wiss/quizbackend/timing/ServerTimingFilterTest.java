@@ -0,0 +1,132 @@
+package com.wiss.quizbackend.timing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests für ServerTimingFilter und RequestTimings.
+ * Der "Controller" ist ein Servlet, das selbst Messpunkte setzt und eine Antwort schreibt.
+ */
+public class ServerTimingFilterTest {
+
+    /**
+     * Test 1: Header eingeschaltet - Phasen und Gesamtzeit stehen im Server-Timing Header,
+     * die Antwort kommt trotz Pufferung vollständig an
+     */
+    @Test
+    public void whenHeaderIsEnabled_thenPhasesAreReported() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(true, Duration.ZERO, 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/questions/random"), response,
+                new MockFilterChain(new RecordingServlet()));
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertThat(header).contains("auth;dur=", "db;dur=", "desc=\"2 calls\"", "mapping;dur=", "total;dur=");
+        assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+    }
+
+    /**
+     * Test 2: Alles aus - kein Header, Messpunkte laufen ins Leere
+     */
+    @Test
+    public void whenDisabled_thenNoHeaderAndNoTimingContext() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(false, Duration.ZERO, 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RecordingServlet servlet = new RecordingServlet();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/leaderboard/top10"), response,
+                new MockFilterChain(servlet));
+
+        // Assert
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+        assertThat(servlet.startValue).isZero();
+    }
+
+    /**
+     * Test 3: Zu viele Einzelwerte (N+1) - Summen stimmen, Einzelwerte sind begrenzt
+     */
+    @Test
+    public void whenManyEntriesAreRecorded_thenTotalsStayCompleteAndEntriesAreCapped() {
+        // Arrange
+        RequestTimings timings = new RequestTimings();
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            timings.add("db", "AppUserRepository.findById", 1_000_000);
+        }
+
+        // Assert
+        assertThat(timings.entries()).hasSize(200);
+        assertThat(timings.toServerTimingHeader(2_000_000_000L))
+                .startsWith("db;dur=1000.000;desc=\"1000 calls\"");
+        assertThat(timings.toBreakdown()).contains("... 800 weitere", "db 1000x 1000.000 ms");
+    }
+
+    /**
+     * Test 4: Download (application/octet-stream) - wird nicht gepuffert, flushBuffer()
+     * schickt die Daten sofort, Content-Length kommt unverändert beim Client an
+     */
+    @Test
+    public void whenResponseIsOctetStream_thenItIsStreamedWithoutBuffering() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(true, Duration.ZERO, 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        DownloadServlet servlet = new DownloadServlet();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/profiling/recording"), response,
+                new MockFilterChain(servlet));
+
+        // Assert - nach dem ersten Block war die Antwort schon beim Client
+        assertThat(servlet.committedAfterFirstChunk).isTrue();
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(response.getContentLengthLong()).isEqualTo(8);
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+
+    private static class DownloadServlet extends HttpServlet {
+
+        private boolean committedAfterFirstChunk;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType("application/octet-stream");
+            response.setContentLengthLong(8);
+            response.getOutputStream().write(new byte[]{1, 2, 3, 4});
+            response.flushBuffer();
+            committedAfterFirstChunk = response.isCommitted();
+            response.getOutputStream().write(new byte[]{5, 6, 7, 8});
+        }
+    }
+
+    private static class RecordingServlet extends HttpServlet {
+
+        private long startValue = -1;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            startValue = RequestTimings.start();
+            RequestTimings.record("auth", startValue);
+            RequestTimings.record("db", "QuestionRepository.findByCategory", 2_000_000);
+            RequestTimings.record("db", "QuestionRepository.count", 1_000_000);
+            RequestTimings.record("mapping", RequestTimings.start());
+            response.getWriter().write("{\"ok\":true}");
+        }
+    }
+}